@@ -1,6 +1,10 @@
 package com.rh.javafx;
 
+import com.rh.javafx.service.BulletinPaieService;
+import com.rh.javafx.service.BulletinPaieService.SummaryRebuildResult;
+import com.rh.javafx.service.ServiceException;
 import com.rh.javafx.util.HibernateUtil;
+import com.rh.javafx.util.ServiceExecutor;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -16,6 +20,9 @@ import java.io.IOException;
  */
 public class MainApp extends Application {
 
+    private static final String REBUILD_PAYROLL_SUMMARY = "--rebuild-payroll-summary";
+    private static final String REBUILD_FAILED = "Échec du recalcul des totaux par période: ";
+
     private static Stage primaryStage;
     private static Scene mainScene;
 
@@ -77,12 +84,49 @@ public class MainApp extends Application {
 
     @Override
     public void stop() {
-        // Cleanup resources when application closes
-        HibernateUtil.shutdown();
-        System.out.println("Application fermée. Ressources libérées.");
+        // Cleanup resources when application closes. The executor gives the calls in flight a few seconds
+        // to commit; that wait runs on its own thread so the window closes at once, and the JVM exits after it.
+        Thread cleanup = new Thread(() -> {
+            ServiceExecutor.shutdown();
+            HibernateUtil.shutdown();
+            System.out.println("Application fermée. Ressources libérées.");
+        }, "rh-shutdown");
+        cleanup.setDaemon(false);
+        cleanup.start();
     }
 
     public static void main(String[] args) {
+        if (args.length > 0 && REBUILD_PAYROLL_SUMMARY.equals(args[0])) {
+            System.exit(rebuildPayrollSummary());
+        }
         launch(args);
     }
+
+    /**
+     * Recompute the payroll period summary without starting the UI
+     * Exit status: 0 when the summary was right, 2 when rows had to be corrected (listed on stdout),
+     * 1 on error (reason on stderr).
+     */
+    private static int rebuildPayrollSummary() {
+        // Start Hibernate first: when the database cannot be reached there is nothing to shut down
+        try {
+            HibernateUtil.getSessionFactory();
+        } catch (ExceptionInInitializerError e) {
+            System.err.println(REBUILD_FAILED + ServiceException.from(e.getCause()).getReason());
+            return 1;
+        }
+        try {
+            SummaryRebuildResult result = new BulletinPaieService().rebuildPeriodSummaries();
+            // The service log stops after a few rows, the caller gets all of them
+            for (String mismatch : result.mismatches()) {
+                System.out.println("Ligne corrigée: " + mismatch);
+            }
+            return result.mismatches().isEmpty() ? 0 : 2;
+        } catch (RuntimeException e) {
+            System.err.println(REBUILD_FAILED + ServiceException.from(e).getReason());
+            return 1;
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
 }
@@ -2,24 +2,52 @@ package com.rh.javafx.controller;
 
 import com.rh.javafx.MainApp;
 import com.rh.javafx.model.BulletinPaie;
+import com.rh.javafx.model.BulletinPaieRow;
 import com.rh.javafx.model.Conge;
+import com.rh.javafx.model.CongeRow;
 import com.rh.javafx.model.Employe;
+import com.rh.javafx.model.EmployeRow;
 import com.rh.javafx.service.AuthService;
 import com.rh.javafx.service.BulletinPaieService;
 import com.rh.javafx.service.CongeService;
+import com.rh.javafx.service.DashboardStatsService;
+import com.rh.javafx.service.EmployeImportService;
 import com.rh.javafx.service.EmployeService;
+import com.rh.javafx.service.ExportService;
+import com.rh.javafx.service.ProgressListener;
+import com.rh.javafx.service.ServiceException;
+import com.rh.javafx.util.AsyncLoader;
+import com.rh.javafx.util.TablePager;
+import com.rh.javafx.util.WorkingDayCalendar;
+import javafx.animation.PauseTransition;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.util.Callback;
+import javafx.util.Duration;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.file.Files;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 /**
  * Controller for the Dashboard View
@@ -30,8 +58,28 @@ public class DashboardController {
     private final EmployeService employeService = new EmployeService();
     private final CongeService congeService = new CongeService();
     private final BulletinPaieService bulletinService = new BulletinPaieService();
+    private final DashboardStatsService statsService = new DashboardStatsService();
+    private final ExportService exportService = new ExportService();
+    private final EmployeImportService importService = new EmployeImportService();
     private final AuthService authService = new AuthService();
 
+    // Background data loading
+    private static final int PAGE_SIZE = 100;
+    // Rejected rows listed after an import, the others are only counted
+    private static final int MAX_SHOWN_IMPORT_ERRORS = 20;
+    private final AsyncLoader loader = new AsyncLoader();
+    private TablePager<EmployeRow> employesPager;
+    private TablePager<CongeRow> congesPager;
+    private TablePager<BulletinPaieRow> bulletinsPager;
+
+    // Employee search runs once typing pauses, for the newest term only
+    private static final Duration SEARCH_DELAY = Duration.millis(250);
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DELAY);
+    private String shownSearchTerm;
+
+    // Set while a bulk approval or rejection runs, so that it cannot be started twice
+    private final BooleanProperty decisionRunning = new SimpleBooleanProperty(false);
+
     // Top Bar
     @FXML
     private Label userNameLabel;
@@ -58,96 +106,129 @@ public class DashboardController {
 
     // Employees Tab
     @FXML
-    private TableView<Employe> employesTable;
+    private TableView<EmployeRow> employesTable;
 
     @FXML
-    private TableColumn<Employe, Integer> empIdColumn;
+    private TableColumn<EmployeRow, Integer> empIdColumn;
 
     @FXML
-    private TableColumn<Employe, String> empMatriculeColumn;
+    private TableColumn<EmployeRow, String> empMatriculeColumn;
 
     @FXML
-    private TableColumn<Employe, String> empNomColumn;
+    private TableColumn<EmployeRow, String> empNomColumn;
 
     @FXML
-    private TableColumn<Employe, String> empPrenomColumn;
+    private TableColumn<EmployeRow, String> empPrenomColumn;
 
     @FXML
-    private TableColumn<Employe, String> empEmailColumn;
+    private TableColumn<EmployeRow, String> empEmailColumn;
 
     @FXML
-    private TableColumn<Employe, String> empPosteColumn;
+    private TableColumn<EmployeRow, String> empPosteColumn;
 
     @FXML
-    private TableColumn<Employe, BigDecimal> empSalaireColumn;
+    private TableColumn<EmployeRow, BigDecimal> empSalaireColumn;
 
     @FXML
-    private TableColumn<Employe, Integer> empCongesColumn;
+    private TableColumn<EmployeRow, Integer> empCongesColumn;
 
     @FXML
-    private TableColumn<Employe, Void> empActionsColumn;
+    private TableColumn<EmployeRow, Void> empActionsColumn;
 
     @FXML
     private TextField empSearchField;
 
     // Leaves Tab
     @FXML
-    private TableView<Conge> congesTable;
+    private TableView<CongeRow> congesTable;
 
     @FXML
-    private TableColumn<Conge, Integer> congeIdColumn;
+    private TableColumn<CongeRow, Integer> congeIdColumn;
 
     @FXML
-    private TableColumn<Conge, String> congeEmployeColumn;
+    private TableColumn<CongeRow, String> congeEmployeColumn;
 
     @FXML
-    private TableColumn<Conge, LocalDate> congeDebutColumn;
+    private TableColumn<CongeRow, LocalDate> congeDebutColumn;
 
     @FXML
-    private TableColumn<Conge, LocalDate> congeFinColumn;
+    private TableColumn<CongeRow, LocalDate> congeFinColumn;
 
     @FXML
-    private TableColumn<Conge, String> congeTypeColumn;
+    private TableColumn<CongeRow, String> congeTypeColumn;
 
     @FXML
-    private TableColumn<Conge, Integer> congeDureeColumn;
+    private TableColumn<CongeRow, Integer> congeDureeColumn;
 
     @FXML
-    private TableColumn<Conge, String> congeStatutColumn;
+    private TableColumn<CongeRow, String> congeStatutColumn;
 
     @FXML
-    private TableColumn<Conge, Void> congeActionsColumn;
+    private TableColumn<CongeRow, CongeRow> congeActionsColumn;
 
     @FXML
     private ComboBox<String> congeFilterCombo;
 
+    @FXML
+    private Button approveSelectionButton;
+
+    @FXML
+    private Button rejectSelectionButton;
+
     // Payslips Tab
     @FXML
-    private TableView<BulletinPaie> bulletinsTable;
+    private TableView<BulletinPaieRow> bulletinsTable;
+
+    @FXML
+    private TableColumn<BulletinPaieRow, Integer> bulletinIdColumn;
+
+    @FXML
+    private TableColumn<BulletinPaieRow, String> bulletinEmployeColumn;
+
+    @FXML
+    private TableColumn<BulletinPaieRow, String> bulletinPeriodeColumn;
+
+    @FXML
+    private TableColumn<BulletinPaieRow, BigDecimal> bulletinBrutColumn;
+
+    @FXML
+    private TableColumn<BulletinPaieRow, BigDecimal> bulletinPrimesColumn;
+
+    @FXML
+    private TableColumn<BulletinPaieRow, BigDecimal> bulletinRetenuesColumn;
+
+    @FXML
+    private TableColumn<BulletinPaieRow, BigDecimal> bulletinNetColumn;
+
+    @FXML
+    private TableColumn<BulletinPaieRow, Void> bulletinActionsColumn;
+
+    @FXML
+    private Button payrollButton;
 
     @FXML
-    private TableColumn<BulletinPaie, Integer> bulletinIdColumn;
+    private ProgressBar payrollProgressBar;
 
     @FXML
-    private TableColumn<BulletinPaie, String> bulletinEmployeColumn;
+    private Label payrollProgressLabel;
 
     @FXML
-    private TableColumn<BulletinPaie, String> bulletinPeriodeColumn;
+    private Button importButton;
 
     @FXML
-    private TableColumn<BulletinPaie, BigDecimal> bulletinBrutColumn;
+    private ProgressBar importProgressBar;
 
     @FXML
-    private TableColumn<BulletinPaie, BigDecimal> bulletinPrimesColumn;
+    private Label importProgressLabel;
 
     @FXML
-    private TableColumn<BulletinPaie, BigDecimal> bulletinRetenuesColumn;
+    private MenuButton exportMenu;
 
     @FXML
-    private TableColumn<BulletinPaie, BigDecimal> bulletinNetColumn;
+    private ProgressBar exportProgressBar;
 
     @FXML
-    private TableColumn<BulletinPaie, Void> bulletinActionsColumn;
+    private Label exportProgressLabel;
 
     @FXML
     public void initialize() {
@@ -156,41 +237,74 @@ public class DashboardController {
             userNameLabel.setText(AuthService.getCurrentUser().getNomComplet());
         }
 
-        // Initialize statistics
-        updateStatistics();
-
         // Initialize tables
         initializeEmployesTable();
         initializeCongesTable();
         initializeBulletinsTable();
 
-        // Load data
+        // Show placeholders until the first loads complete
+        totalEmployesLabel.setText("...");
+        pendingCongesLabel.setText("...");
+        totalBulletinsLabel.setText("...");
+        averageSalaryLabel.setText("...");
+        employesTable.setPlaceholder(new Label("Chargement des employés..."));
+        congesTable.setPlaceholder(new Label("Chargement des congés..."));
+        bulletinsTable.setPlaceholder(new Label("Chargement des bulletins..."));
+
+        // Tables load page by page as the user scrolls
+        employesPager = TablePager.attach(employesTable, loader, "employes", PAGE_SIZE, "Aucun employé",
+                e -> showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors du chargement des employés"),
+                EmployeRow::id, EmployeRow.ORDER);
+        congesPager = TablePager.attach(congesTable, loader, "conges", PAGE_SIZE, "Aucun congé",
+                e -> showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors du chargement des congés"),
+                CongeRow::id, CongeRow.ORDER);
+        bulletinsPager = TablePager.attach(bulletinsTable, loader, "bulletins", PAGE_SIZE, "Aucun bulletin",
+                e -> showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors du chargement des bulletins"),
+                BulletinPaieRow::id, BulletinPaieRow.ORDER);
+
+        // Load statistics and data in the background
+        updateStatistics();
         loadAllData();
+        loader.load("index-recherche", () -> {
+                    employeService.warmSearchIndex();
+                    return null;
+                },
+                ignored -> { },
+                e -> System.err.println("Erreur lors de la construction de l'index de recherche: " + e.getMessage()));
+        loader.load("calendrier-conges", () -> {
+                    congeService.warmCalendar();
+                    return null;
+                },
+                ignored -> { },
+                e -> System.err.println("Erreur lors de la construction du calendrier des congés: " + e.getMessage()));
     }
 
     private void updateStatistics() {
-        totalEmployesLabel.setText(String.valueOf(employeService.getTotalEmployes()));
-        pendingCongesLabel.setText(String.valueOf(congeService.getPendingCongesCount()));
-        totalBulletinsLabel.setText(String.valueOf(bulletinService.getTotalBulletinsCount()));
-
-        BigDecimal avgSalary = employeService.getAverageSalary();
-        averageSalaryLabel.setText(String.format("%.2f DH", avgSalary));
+        loader.load("statistiques", statsService::getStats,
+                stats -> {
+                    totalEmployesLabel.setText(String.valueOf(stats.totalEmployes()));
+                    pendingCongesLabel.setText(String.valueOf(stats.pendingConges()));
+                    totalBulletinsLabel.setText(String.valueOf(stats.totalBulletins()));
+                    averageSalaryLabel.setText(String.format("%.2f DH", stats.averageSalary()));
+                },
+                e -> System.err.println("Erreur lors du chargement des statistiques: " + e.getMessage()));
     }
 
     // ========== EMPLOYEES TAB ==========
 
     private void initializeEmployesTable() {
-        empIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
-        empMatriculeColumn.setCellValueFactory(new PropertyValueFactory<>("matricule"));
-        empNomColumn.setCellValueFactory(new PropertyValueFactory<>("nom"));
-        empPrenomColumn.setCellValueFactory(new PropertyValueFactory<>("prenom"));
-        empEmailColumn.setCellValueFactory(new PropertyValueFactory<>("email"));
-        empPosteColumn.setCellValueFactory(new PropertyValueFactory<>("poste"));
-        empSalaireColumn.setCellValueFactory(new PropertyValueFactory<>("salaireBase"));
-        empCongesColumn.setCellValueFactory(new PropertyValueFactory<>("joursCongesRestants"));
+        empIdColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().id()));
+        empMatriculeColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().matricule()));
+        empNomColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().nom()));
+        empPrenomColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().prenom()));
+        empEmailColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().email()));
+        empPosteColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().poste()));
+        empSalaireColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().salaireBase()));
+        empCongesColumn.setCellValueFactory(cellData ->
+                new ReadOnlyObjectWrapper<>(cellData.getValue().joursCongesRestants()));
 
         // Format salary column
-        empSalaireColumn.setCellFactory(column -> new TableCell<Employe, BigDecimal>() {
+        empSalaireColumn.setCellFactory(column -> new TableCell<EmployeRow, BigDecimal>() {
             @Override
             protected void updateItem(BigDecimal item, boolean empty) {
                 super.updateItem(item, empty);
@@ -205,34 +319,53 @@ public class DashboardController {
         // Add action buttons
         addEmployeActionButtons();
 
-        // Search functionality
+        // Search functionality: a keystroke drops the stale search and restarts the delay
+        searchDebounce.setOnFinished(e -> searchEmployes(empSearchField.getText()));
         empSearchField.textProperty().addListener((obs, oldVal, newVal) -> {
-            if (newVal == null || newVal.trim().isEmpty()) {
-                loadEmployes();
-            } else {
-                employesTable.setItems(FXCollections.observableArrayList(
-                        employeService.searchEmployes(newVal.trim())));
+            if (loader.isLoading("employes")) {
+                loader.cancel("employes");
+                shownSearchTerm = null;
             }
+            searchDebounce.playFromStart();
         });
     }
 
+    private void searchEmployes(String text) {
+        String searchTerm = text == null ? "" : text.trim();
+        if (searchTerm.equals(shownSearchTerm)) {
+            // Same result as already shown, e.g. a letter typed then erased
+            return;
+        }
+        if (searchTerm.isEmpty()) {
+            loadEmployes();
+        } else {
+            loader.load("employes", () -> employeService.searchEmployeRows(searchTerm),
+                    this::showEmployes,
+                    e -> {
+                        shownSearchTerm = null;
+                        showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors de la recherche d'employés");
+                    });
+        }
+        shownSearchTerm = searchTerm;
+    }
+
     private void addEmployeActionButtons() {
-        Callback<TableColumn<Employe, Void>, TableCell<Employe, Void>> cellFactory =
-                new Callback<TableColumn<Employe, Void>, TableCell<Employe, Void>>() {
+        Callback<TableColumn<EmployeRow, Void>, TableCell<EmployeRow, Void>> cellFactory =
+                new Callback<TableColumn<EmployeRow, Void>, TableCell<EmployeRow, Void>>() {
             @Override
-            public TableCell<Employe, Void> call(final TableColumn<Employe, Void> param) {
-                return new TableCell<Employe, Void>() {
+            public TableCell<EmployeRow, Void> call(final TableColumn<EmployeRow, Void> param) {
+                return new TableCell<EmployeRow, Void>() {
                     private final Button editBtn = new Button("Modifier");
                     private final Button deleteBtn = new Button("Supprimer");
 
                     {
                         editBtn.setOnAction(event -> {
-                            Employe employe = getTableView().getItems().get(getIndex());
+                            EmployeRow employe = getTableView().getItems().get(getIndex());
                             handleEditEmploye(employe);
                         });
 
                         deleteBtn.setOnAction(event -> {
-                            Employe employe = getTableView().getItems().get(getIndex());
+                            EmployeRow employe = getTableView().getItems().get(getIndex());
                             handleDeleteEmploye(employe);
                         });
 
@@ -264,26 +397,109 @@ public class DashboardController {
         showEmployeDialog(null);
     }
 
-    private void handleEditEmploye(Employe employe) {
-        showEmployeDialog(employe);
+    @FXML
+    private void handleImportEmployes() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Importer des employés");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"));
+        File file = chooser.showOpenDialog(mainTabPane.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        Task<EmployeImportService.ImportResult> task = new Task<>() {
+            @Override
+            protected EmployeImportService.ImportResult call() {
+                return importService.importerEmployes(file.toPath(), (done, total) -> {
+                    updateProgress(done, total);
+                    updateMessage((total > 0 ? done * 100 / total : 100) + " %");
+                });
+            }
+        };
+        importButton.setDisable(true);
+        importProgressBar.progressProperty().bind(task.progressProperty());
+        importProgressLabel.textProperty().bind(task.messageProperty());
+        setImportProgressVisible(true);
+
+        loader.submitWrite("import", task,
+                result -> {
+                    hideImportProgress();
+                    showImportResult(file, result);
+                },
+                e -> {
+                    hideImportProgress();
+                    showError("lors de l'import", e);
+                });
+    }
+
+    private void showImportResult(File file, EmployeImportService.ImportResult result) {
+        StringBuilder message = new StringBuilder()
+                .append(result.importes()).append(" employés importés sur ").append(result.lignes())
+                .append(" lignes de ").append(file.getName());
+        List<EmployeImportService.ImportError> erreurs = result.erreurs();
+        if (!erreurs.isEmpty()) {
+            message.append("\n\n").append(erreurs.size()).append(" lignes rejetées:\n");
+            erreurs.stream().limit(MAX_SHOWN_IMPORT_ERRORS).forEach(erreur ->
+                    message.append("- Ligne ").append(erreur.ligne()).append(": ").append(erreur.message()).append('\n'));
+            if (erreurs.size() > MAX_SHOWN_IMPORT_ERRORS) {
+                message.append("... et ").append(erreurs.size() - MAX_SHOWN_IMPORT_ERRORS).append(" autres");
+            }
+        }
+        showAlert(erreurs.isEmpty() ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING,
+                "Import des employés", message.toString());
+    }
+
+    // Rows imported before a failure are kept, so the table is reloaded either way
+    private void hideImportProgress() {
+        importProgressBar.progressProperty().unbind();
+        importProgressLabel.textProperty().unbind();
+        setImportProgressVisible(false);
+        importButton.setDisable(false);
+        loadEmployes();
+        updateStatistics();
     }
 
-    private void handleDeleteEmploye(Employe employe) {
+    private void setImportProgressVisible(boolean visible) {
+        importProgressBar.setVisible(visible);
+        importProgressBar.setManaged(visible);
+        importProgressLabel.setVisible(visible);
+        importProgressLabel.setManaged(visible);
+    }
+
+    private void handleEditEmploye(EmployeRow row) {
+        loader.load("employe-" + row.id(), () -> employeService.getEmployeById(row.id()),
+                employe -> {
+                    if (employe == null) {
+                        showAlert(Alert.AlertType.ERROR, "Erreur", "Cet employé n'existe plus");
+                        applyEmployeChange(row.id(), null);
+                        return;
+                    }
+                    showEmployeDialog(employe);
+                },
+                e -> showError("lors du chargement de l'employé", e));
+    }
+
+    private void handleDeleteEmploye(EmployeRow employe) {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Confirmation");
         alert.setHeaderText("Supprimer l'employé");
-        alert.setContentText("Voulez-vous vraiment supprimer " + employe.getNomComplet() + "?");
+        alert.setContentText("Voulez-vous vraiment supprimer " + employe.nomComplet() + "?");
 
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
-                    employeService.deleteEmploye(employe.getId());
-                    loadEmployes();
-                    updateStatistics();
-                    showAlert(Alert.AlertType.INFORMATION, "Succès", "Employé supprimé avec succès");
-                } catch (Exception e) {
-                    showAlert(Alert.AlertType.ERROR, "Erreur", e.getMessage());
-                }
+                loader.write("employe-" + employe.id(), () -> {
+                            employeService.deleteEmploye(employe.id());
+                            return null;
+                        },
+                        ignored -> {
+                            applyEmployeChange(employe.id(), null);
+                            // Leaves and payslips are deleted with the employee
+                            congesPager.removeIf(conge -> conge.employeId().equals(employe.id()));
+                            bulletinsPager.removeIf(bulletin -> bulletin.employeId().equals(employe.id()));
+                            updateStatistics();
+                            showAlert(Alert.AlertType.INFORMATION, "Succès", "Employé supprimé avec succès");
+                        },
+                        e -> showError("lors de la suppression", e));
             }
         });
     }
@@ -456,6 +672,7 @@ public class DashboardController {
                     }
 
                     // Save employee
+                    String ancienNomComplet = employe != null ? employe.getNomComplet() : null;
                     Employe emp = employe != null ? employe : new Employe();
                     emp.setMatricule(matriculeField.getText().trim());
                     emp.setNom(nomField.getText().trim());
@@ -475,18 +692,27 @@ public class DashboardController {
                         emp.setMotDePasseHash(hashedPassword);
                     }
 
-                    employeService.saveEmploye(emp);
-                    loadEmployes();
-                    updateStatistics();
-                    showAlert(Alert.AlertType.INFORMATION, "Succès", "Employé enregistré avec succès");
+                    loader.write("employe-" + (employe != null ? employe.getId() : "nouveau"), () -> {
+                                employeService.saveEmploye(emp);
+                                return emp;
+                            },
+                            saved -> {
+                                applyEmployeChange(saved.getId(), EmployeRow.of(saved));
+                                if (ancienNomComplet != null && !ancienNomComplet.equals(saved.getNomComplet())) {
+                                    // The name is shown on every leave and payslip row of the employee
+                                    loadConges();
+                                    loadBulletins();
+                                }
+                                updateStatistics();
+                                showAlert(Alert.AlertType.INFORMATION, "Succès", "Employé enregistré avec succès");
+                            },
+                            e -> showError("lors de l'enregistrement de l'employé", e));
 
                 } catch (NumberFormatException e) {
                     showAlert(Alert.AlertType.ERROR, "Erreur de format",
                         "Veuillez vérifier que les champs numériques sont corrects.");
                 } catch (Exception e) {
-                    showAlert(Alert.AlertType.ERROR, "Erreur",
-                        "Une erreur est survenue: " + e.getMessage());
-                    e.printStackTrace();
+                    showError("lors de l'enregistrement de l'employé", e);
                 }
             }
         });
@@ -495,33 +721,40 @@ public class DashboardController {
     // ========== LEAVES TAB ==========
 
     private void initializeCongesTable() {
-        congeIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
+        congeIdColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().id()));
         congeEmployeColumn.setCellValueFactory(cellData ->
-                new javafx.beans.property.SimpleStringProperty(
-                        cellData.getValue().getEmploye().getNomComplet()));
-        congeDebutColumn.setCellValueFactory(new PropertyValueFactory<>("dateDebut"));
-        congeFinColumn.setCellValueFactory(new PropertyValueFactory<>("dateFin"));
-        congeTypeColumn.setCellValueFactory(new PropertyValueFactory<>("typeConge"));
-        congeDureeColumn.setCellValueFactory(new PropertyValueFactory<>("dureeJours"));
+                new ReadOnlyObjectWrapper<>(cellData.getValue().employeNomComplet()));
+        congeDebutColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().dateDebut()));
+        congeFinColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().dateFin()));
+        congeTypeColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().typeConge()));
+        congeDureeColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().dureeJours()));
         congeStatutColumn.setCellValueFactory(cellData ->
-                new javafx.beans.property.SimpleStringProperty(
-                        cellData.getValue().getStatut().getLabel()));
+                new ReadOnlyObjectWrapper<>(cellData.getValue().statut().getLabel()));
 
         addCongeActionButtons();
 
+        // Several leaves can be selected and approved or rejected in one go
+        congesTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        approveSelectionButton.disableProperty().bind(
+                Bindings.isEmpty(congesTable.getSelectionModel().getSelectedItems()).or(decisionRunning));
+        rejectSelectionButton.disableProperty().bind(
+                Bindings.isEmpty(congesTable.getSelectionModel().getSelectedItems()).or(decisionRunning));
+
         // Filter combo
         congeFilterCombo.setItems(FXCollections.observableArrayList(
                 "Tous", "En Attente", "Approuvé", "Rejeté"));
         congeFilterCombo.setValue("Tous");
-        congeFilterCombo.setOnAction(e -> filterConges());
+        congeFilterCombo.setOnAction(e -> loadConges());
     }
 
     private void addCongeActionButtons() {
-        Callback<TableColumn<Conge, Void>, TableCell<Conge, Void>> cellFactory =
-                new Callback<TableColumn<Conge, Void>, TableCell<Conge, Void>>() {
+        // The cell value is the row itself, so the buttons follow a status changed in place
+        congeActionsColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue()));
+        Callback<TableColumn<CongeRow, CongeRow>, TableCell<CongeRow, CongeRow>> cellFactory =
+                new Callback<TableColumn<CongeRow, CongeRow>, TableCell<CongeRow, CongeRow>>() {
             @Override
-            public TableCell<Conge, Void> call(final TableColumn<Conge, Void> param) {
-                return new TableCell<Conge, Void>() {
+            public TableCell<CongeRow, CongeRow> call(final TableColumn<CongeRow, CongeRow> param) {
+                return new TableCell<CongeRow, CongeRow>() {
                     private final Button approveBtn = new Button("Approuver");
                     private final Button rejectBtn = new Button("Rejeter");
                     private final Button editBtn = new Button("Modifier");
@@ -529,22 +762,22 @@ public class DashboardController {
 
                     {
                         approveBtn.setOnAction(event -> {
-                            Conge conge = getTableView().getItems().get(getIndex());
+                            CongeRow conge = getTableView().getItems().get(getIndex());
                             handleApproveConge(conge);
                         });
 
                         rejectBtn.setOnAction(event -> {
-                            Conge conge = getTableView().getItems().get(getIndex());
+                            CongeRow conge = getTableView().getItems().get(getIndex());
                             handleRejectConge(conge);
                         });
 
                         editBtn.setOnAction(event -> {
-                            Conge conge = getTableView().getItems().get(getIndex());
+                            CongeRow conge = getTableView().getItems().get(getIndex());
                             handleEditConge(conge);
                         });
 
                         deleteBtn.setOnAction(event -> {
-                            Conge conge = getTableView().getItems().get(getIndex());
+                            CongeRow conge = getTableView().getItems().get(getIndex());
                             handleDeleteConge(conge);
                         });
 
@@ -559,12 +792,11 @@ public class DashboardController {
                     }
 
                     @Override
-                    public void updateItem(Void item, boolean empty) {
-                        super.updateItem(item, empty);
-                        if (empty) {
+                    public void updateItem(CongeRow conge, boolean empty) {
+                        super.updateItem(conge, empty);
+                        if (empty || conge == null) {
                             setGraphic(null);
                         } else {
-                            Conge conge = getTableView().getItems().get(getIndex());
                             if (conge.estEnAttente()) {
                                 HBox buttons = new HBox(5, approveBtn, rejectBtn, editBtn, deleteBtn);
                                 setGraphic(buttons);
@@ -587,61 +819,157 @@ public class DashboardController {
         showCongeDialog();
     }
 
-    private void handleApproveConge(Conge conge) {
-        try {
-            congeService.approuverConge(conge.getId());
-            filterConges(); // Reload with current filter
-            loadEmployes();
-            updateStatistics();
-            showAlert(Alert.AlertType.INFORMATION, "Succès", "Congé approuvé");
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Erreur", e.getMessage());
-        }
+    private void handleApproveConge(CongeRow conge) {
+        loader.write("conge-" + conge.id(), () -> congeService.approuverConge(conge.id()),
+                approved -> {
+                    congesPager.put(CongeRow.of(approved));
+                    applyEmployeChange(approved.getEmploye().getId(), EmployeRow.of(approved.getEmploye()));
+                    updateStatistics();
+                    showAlert(Alert.AlertType.INFORMATION, "Succès", "Congé approuvé");
+                },
+                e -> showError("lors de l'approbation", e));
     }
 
-    private void handleRejectConge(Conge conge) {
+    private void handleRejectConge(CongeRow conge) {
         TextInputDialog dialog = new TextInputDialog();
         dialog.setTitle("Rejeter le congé");
         dialog.setHeaderText("Motif du rejet");
         dialog.setContentText("Veuillez entrer le motif du rejet:");
 
         Optional<String> result = dialog.showAndWait();
-        result.ifPresent(motif -> {
-            try {
-                congeService.rejeterConge(conge.getId(), motif);
-                filterConges(); // Reload with current filter
-                updateStatistics();
-                showAlert(Alert.AlertType.INFORMATION, "Succès", "Congé rejeté");
-            } catch (Exception e) {
-                showAlert(Alert.AlertType.ERROR, "Erreur", e.getMessage());
+        result.ifPresent(motif -> loader.write("conge-" + conge.id(),
+                () -> congeService.rejeterConge(conge.id(), motif),
+                rejected -> {
+                    congesPager.put(CongeRow.of(rejected));
+                    updateStatistics();
+                    showAlert(Alert.AlertType.INFORMATION, "Succès", "Congé rejeté");
+                },
+                e -> showError("lors du rejet", e)));
+    }
+
+    @FXML
+    private void handleApproveSelection() {
+        List<Integer> ids = selectedPendingCongeIds();
+        if (ids.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Action impossible", "Aucune demande en attente sélectionnée");
+            return;
+        }
+
+        Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmAlert.setTitle("Approbation groupée");
+        confirmAlert.setHeaderText("Approuver " + ids.size() + " demande(s) de congé");
+        confirmAlert.setContentText("Les demandes d'un même employé sont approuvées par ordre de date " +
+                "tant que son solde le permet.");
+
+        Optional<ButtonType> result = confirmAlert.showAndWait();
+        if (result.isPresent() && result.get() == ButtonType.OK) {
+            runDecision(() -> congeService.approuverConges(ids), "approuvé(s)", "lors de l'approbation");
+        }
+    }
+
+    @FXML
+    private void handleRejectSelection() {
+        List<Integer> ids = selectedPendingCongeIds();
+        if (ids.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Action impossible", "Aucune demande en attente sélectionnée");
+            return;
+        }
+
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.setTitle("Rejet groupé");
+        dialog.setHeaderText("Rejeter " + ids.size() + " demande(s) de congé");
+        dialog.setContentText("Veuillez entrer le motif du rejet:");
+
+        Optional<String> result = dialog.showAndWait();
+        result.ifPresent(motif -> runDecision(() -> congeService.rejeterConges(ids, motif), "rejeté(s)", "lors du rejet"));
+    }
+
+    // Run a bulk decision as a write: it is not cancelled, and the buttons stay disabled until it ends
+    private void runDecision(Callable<List<CongeService.DecisionOutcome>> decision, String action, String when) {
+        decisionRunning.set(true);
+        loader.write("conges-decision", decision,
+                outcomes -> {
+                    decisionRunning.set(false);
+                    applyDecisions(outcomes, action);
+                },
+                e -> {
+                    decisionRunning.set(false);
+                    showError(when, e);
+                });
+    }
+
+    private List<Integer> selectedPendingCongeIds() {
+        return congesTable.getSelectionModel().getSelectedItems().stream()
+                .filter(CongeRow::estEnAttente)
+                .map(CongeRow::id)
+                .toList();
+    }
+
+    // Update the processed leaves and their employees in place, then report the leaves that failed
+    private void applyDecisions(List<CongeService.DecisionOutcome> outcomes, String action) {
+        congesTable.getSelectionModel().clearSelection();
+        Map<Integer, Employe> employes = new HashMap<>();
+        StringBuilder failures = new StringBuilder();
+        int succeeded = 0;
+        for (CongeService.DecisionOutcome outcome : outcomes) {
+            if (outcome.isSuccess()) {
+                succeeded++;
+                congesPager.put(CongeRow.of(outcome.conge()));
+                Employe employe = outcome.conge().getEmploye();
+                employes.put(employe.getId(), employe);
+            } else {
+                failures.append("\n- Congé #").append(outcome.congeId()).append(": ").append(outcome.erreur());
             }
-        });
+        }
+        employes.values().forEach(employe -> applyEmployeChange(employe.getId(), EmployeRow.of(employe)));
+        updateStatistics();
+
+        if (failures.length() == 0) {
+            showAlert(Alert.AlertType.INFORMATION, "Succès", succeeded + " congé(s) " + action);
+        } else {
+            showAlert(Alert.AlertType.WARNING, "Traitement partiel",
+                    succeeded + " congé(s) " + action + ", " + (outcomes.size() - succeeded) + " en échec:" + failures);
+        }
     }
 
-    private void handleEditConge(Conge conge) {
-        showEditCongeDialog(conge);
+    private void handleEditConge(CongeRow row) {
+        loader.load("conge-" + row.id(), () -> congeService.getCongeById(row.id()),
+                conge -> {
+                    if (conge == null) {
+                        showAlert(Alert.AlertType.ERROR, "Erreur", "Ce congé n'existe plus");
+                        congesPager.remove(row);
+                        return;
+                    }
+                    showEditCongeDialog(conge);
+                },
+                e -> showError("lors du chargement du congé", e));
     }
 
-    private void handleDeleteConge(Conge conge) {
+    private void handleDeleteConge(CongeRow conge) {
         Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
         confirmAlert.setTitle("Confirmation de suppression");
         confirmAlert.setHeaderText("Supprimer le congé");
         confirmAlert.setContentText("Êtes-vous sûr de vouloir supprimer ce congé?\n" +
-                "Employé: " + conge.getEmploye().getNomComplet() + "\n" +
-                "Période: " + conge.getDateDebut() + " au " + conge.getDateFin());
+                "Employé: " + conge.employeNomComplet() + "\n" +
+                "Période: " + conge.dateDebut() + " au " + conge.dateFin());
 
         Optional<ButtonType> result = confirmAlert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            try {
-                congeService.deleteConge(conge.getId());
-                filterConges(); // Reload with current filter
-                loadEmployes();
-                updateStatistics();
-                showAlert(Alert.AlertType.INFORMATION, "Succès", "Congé supprimé avec succès");
-            } catch (Exception e) {
-                showAlert(Alert.AlertType.ERROR, "Erreur",
-                    "Une erreur est survenue lors de la suppression:\n" + e.getMessage());
-            }
+            loader.write("conge-" + conge.id(), () -> {
+                        congeService.deleteConge(conge.id());
+                        // The approved days went back to the employee
+                        return conge.statut() == Conge.StatutConge.APPROUVE
+                                ? employeService.getEmployeById(conge.employeId()) : null;
+                    },
+                    employe -> {
+                        congesPager.remove(conge);
+                        if (employe != null) {
+                            applyEmployeChange(employe.getId(), EmployeRow.of(employe));
+                        }
+                        updateStatistics();
+                        showAlert(Alert.AlertType.INFORMATION, "Succès", "Congé supprimé avec succès");
+                    },
+                    e -> showError("lors de la suppression", e));
         }
     }
 
@@ -658,7 +986,7 @@ public class DashboardController {
         grid.setPadding(new Insets(20, 150, 10, 10));
 
         ComboBox<Employe> employeCombo = new ComboBox<>();
-        employeCombo.setItems(FXCollections.observableArrayList(employeService.getAllEmployes()));
+        loadEmployeChoices(employeCombo);
         employeCombo.setConverter(new javafx.util.StringConverter<Employe>() {
             @Override
             public String toString(Employe employe) {
@@ -742,9 +1070,9 @@ public class DashboardController {
                     }
 
                     // All validation passed, create leave request
-                        // Calculate requested duration (inclusive)
-                        int duree = (int) java.time.temporal.ChronoUnit.DAYS.between(
-                            dateDebutPicker.getValue(), dateFinPicker.getValue()) + 1;
+                        // Calculate requested duration in working days (inclusive)
+                        int duree = WorkingDayCalendar.getDefault().countWorkingDays(
+                            dateDebutPicker.getValue(), dateFinPicker.getValue());
                         int joursRestants = employeCombo.getValue().getJoursCongesRestants();
                         if (duree > joursRestants) {
                         showAlert(Alert.AlertType.ERROR, "Erreur",
@@ -754,20 +1082,22 @@ public class DashboardController {
                         return;
                         }
 
-                        congeService.demanderConge(
-                            employeCombo.getValue().getId(),
-                            dateDebutPicker.getValue(),
-                            dateFinPicker.getValue(),
-                            typeCombo.getValue(),
-                            motifField.getText());
-                    filterConges(); // Reload with current filter
-                    updateStatistics();
-                    showAlert(Alert.AlertType.INFORMATION, "Succès", "Demande de congé créée avec succès");
+                    Integer employeId = employeCombo.getValue().getId();
+                    LocalDate dateDebut = dateDebutPicker.getValue();
+                    LocalDate dateFin = dateFinPicker.getValue();
+                    String typeConge = typeCombo.getValue();
+                    String motif = motifField.getText();
+                    loader.write("conge-nouveau",
+                            () -> congeService.demanderConge(employeId, dateDebut, dateFin, typeConge, motif),
+                            created -> {
+                                congesPager.put(CongeRow.of(created));
+                                updateStatistics();
+                                showAlert(Alert.AlertType.INFORMATION, "Succès", "Demande de congé créée avec succès");
+                            },
+                            e -> showError("lors de la création du congé", e));
 
                 } catch (Exception e) {
-                    showAlert(Alert.AlertType.ERROR, "Erreur",
-                        "Une erreur est survenue lors de la création du congé:\n" + e.getMessage());
-                    e.printStackTrace();
+                    showError("lors de la création du congé", e);
                 }
             }
         });
@@ -848,8 +1178,8 @@ public class DashboardController {
 
                         // Validate that the updated duration doesn't exceed remaining days
                         int oldDuree = conge.getDureeJours();
-                        int newDuree = (int) java.time.temporal.ChronoUnit.DAYS.between(
-                            dateDebutPicker.getValue(), dateFinPicker.getValue()) + 1;
+                        int newDuree = WorkingDayCalendar.getDefault().countWorkingDays(
+                            dateDebutPicker.getValue(), dateFinPicker.getValue());
                         int joursRestants = conge.getEmploye().getJoursCongesRestants();
                         // available = remaining + old duration (we release the old days)
                         int disponible = joursRestants + oldDuree;
@@ -867,53 +1197,54 @@ public class DashboardController {
                         conge.setTypeConge(typeCombo.getValue());
                         conge.setMotif(motifField.getText());
 
-                        // Save changes
-                        congeService.updateConge(conge);
-                    filterConges(); // Reload with current filter
-                    updateStatistics();
-                    showAlert(Alert.AlertType.INFORMATION, "Succès", "Congé modifié avec succès");
+                    // Save changes
+                    loader.write("conge-" + conge.getId(), () -> congeService.updateConge(conge),
+                            updated -> {
+                                congesPager.put(CongeRow.of(updated));
+                                updateStatistics();
+                                showAlert(Alert.AlertType.INFORMATION, "Succès", "Congé modifié avec succès");
+                            },
+                            e -> showError("lors de la modification du congé", e));
 
                 } catch (Exception e) {
-                    showAlert(Alert.AlertType.ERROR, "Erreur",
-                        "Une erreur est survenue lors de la modification du congé:\n" + e.getMessage());
-                    e.printStackTrace();
+                    showError("lors de la modification du congé", e);
                 }
             }
         });
     }
 
-    private void filterConges() {
+    // The status filter is applied by the query; the pager filter only hides rows whose status changed since
+    private void loadConges() {
+        Conge.StatutConge statut = selectedCongeStatut();
+        congesPager.setFilter(statut == null ? null : conge -> conge.statut() == statut);
+        congesPager.reset((after, pageSize) -> congeService.getCongesPage(statut, after, pageSize));
+    }
+
+    // "Tous" maps to no status filter
+    private Conge.StatutConge selectedCongeStatut() {
         String filter = congeFilterCombo.getValue();
-        if (filter.equals("Tous")) {
-            loadConges();
-        } else {
-            Conge.StatutConge statut = switch (filter) {
-                case "En Attente" -> Conge.StatutConge.EN_ATTENTE;
-                case "Approuvé" -> Conge.StatutConge.APPROUVE;
-                case "Rejeté" -> Conge.StatutConge.REJETE;
-                default -> null;
-            };
-            if (statut != null) {
-                congesTable.setItems(FXCollections.observableArrayList(
-                        congeService.getCongesByStatut(statut)));
-                // Ensure the table redraws immediately after items change
-                congesTable.refresh();
-            }
+        if (filter == null) {
+            return null;
         }
+        return switch (filter) {
+            case "En Attente" -> Conge.StatutConge.EN_ATTENTE;
+            case "Approuvé" -> Conge.StatutConge.APPROUVE;
+            case "Rejeté" -> Conge.StatutConge.REJETE;
+            default -> null;
+        };
     }
 
     // ========== PAYSLIPS TAB ==========
 
     private void initializeBulletinsTable() {
-        bulletinIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
+        bulletinIdColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().id()));
         bulletinEmployeColumn.setCellValueFactory(cellData ->
-                new javafx.beans.property.SimpleStringProperty(
-                        cellData.getValue().getEmploye().getNomComplet()));
-        bulletinPeriodeColumn.setCellValueFactory(new PropertyValueFactory<>("periode"));
-        bulletinBrutColumn.setCellValueFactory(new PropertyValueFactory<>("salaireBrut"));
-        bulletinPrimesColumn.setCellValueFactory(new PropertyValueFactory<>("primes"));
-        bulletinRetenuesColumn.setCellValueFactory(new PropertyValueFactory<>("retenues"));
-        bulletinNetColumn.setCellValueFactory(new PropertyValueFactory<>("salaireNet"));
+                new ReadOnlyObjectWrapper<>(cellData.getValue().employeNomComplet()));
+        bulletinPeriodeColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().periode()));
+        bulletinBrutColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().salaireBrut()));
+        bulletinPrimesColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().primes()));
+        bulletinRetenuesColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().retenues()));
+        bulletinNetColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().salaireNet()));
 
         // Format currency columns
         formatCurrencyColumn(bulletinBrutColumn);
@@ -924,8 +1255,8 @@ public class DashboardController {
         addBulletinActionButtons();
     }
 
-    private void formatCurrencyColumn(TableColumn<BulletinPaie, BigDecimal> column) {
-        column.setCellFactory(col -> new TableCell<BulletinPaie, BigDecimal>() {
+    private void formatCurrencyColumn(TableColumn<BulletinPaieRow, BigDecimal> column) {
+        column.setCellFactory(col -> new TableCell<BulletinPaieRow, BigDecimal>() {
             @Override
             protected void updateItem(BigDecimal item, boolean empty) {
                 super.updateItem(item, empty);
@@ -939,28 +1270,28 @@ public class DashboardController {
     }
 
     private void addBulletinActionButtons() {
-        Callback<TableColumn<BulletinPaie, Void>, TableCell<BulletinPaie, Void>> cellFactory =
-                new Callback<TableColumn<BulletinPaie, Void>, TableCell<BulletinPaie, Void>>() {
+        Callback<TableColumn<BulletinPaieRow, Void>, TableCell<BulletinPaieRow, Void>> cellFactory =
+                new Callback<TableColumn<BulletinPaieRow, Void>, TableCell<BulletinPaieRow, Void>>() {
             @Override
-            public TableCell<BulletinPaie, Void> call(final TableColumn<BulletinPaie, Void> param) {
-                return new TableCell<BulletinPaie, Void>() {
+            public TableCell<BulletinPaieRow, Void> call(final TableColumn<BulletinPaieRow, Void> param) {
+                return new TableCell<BulletinPaieRow, Void>() {
                     private final Button viewBtn = new Button("Voir");
                     private final Button editBtn = new Button("Modifier");
                     private final Button deleteBtn = new Button("Supprimer");
 
                     {
                         viewBtn.setOnAction(event -> {
-                            BulletinPaie bulletin = getTableView().getItems().get(getIndex());
+                            BulletinPaieRow bulletin = getTableView().getItems().get(getIndex());
                             handleViewBulletin(bulletin);
                         });
 
                         editBtn.setOnAction(event -> {
-                            BulletinPaie bulletin = getTableView().getItems().get(getIndex());
+                            BulletinPaieRow bulletin = getTableView().getItems().get(getIndex());
                             handleEditBulletin(bulletin);
                         });
 
                         deleteBtn.setOnAction(event -> {
-                            BulletinPaie bulletin = getTableView().getItems().get(getIndex());
+                            BulletinPaieRow bulletin = getTableView().getItems().get(getIndex());
                             handleDeleteBulletin(bulletin);
                         });
 
@@ -994,7 +1325,175 @@ public class DashboardController {
         showBulletinDialog();
     }
 
-    private void handleViewBulletin(BulletinPaie bulletin) {
+    @FXML
+    private void handleGenererPaie() {
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.setTitle("Paie du mois");
+        dialog.setHeaderText("Générer les bulletins de tous les employés");
+        dialog.setContentText("Période (ex: 2026-01):");
+
+        Optional<String> result = dialog.showAndWait();
+        result.map(String::trim).ifPresent(periode -> {
+            if (periode.isEmpty()) {
+                showAlert(Alert.AlertType.ERROR, "Erreur", "La période est obligatoire");
+                return;
+            }
+
+            Task<BulletinPaieService.PayrollRunResult> task = new Task<>() {
+                @Override
+                protected BulletinPaieService.PayrollRunResult call() {
+                    return bulletinService.genererBulletinsPeriode(periode, Map.of(), (done, total) -> {
+                        updateProgress(done, total);
+                        updateMessage(done + " / " + total + " bulletins");
+                    });
+                }
+            };
+            showPayrollProgress(task);
+
+            loader.submitWrite("paie", task,
+                    runResult -> {
+                        hidePayrollProgress();
+                        loadBulletins();
+                        updateStatistics();
+                        showAlert(Alert.AlertType.INFORMATION, "Succès",
+                                "Paie générée pour " + runResult.periode() + ":\n" +
+                                        runResult.generated() + " bulletins générés\n" +
+                                        runResult.skipped() + " employés déjà payés pour cette période");
+                    },
+                    e -> {
+                        hidePayrollProgress();
+                        showError("lors de la génération de la paie", e);
+                    });
+        });
+    }
+
+    private void showPayrollProgress(Task<?> task) {
+        payrollButton.setDisable(true);
+        payrollProgressBar.progressProperty().bind(task.progressProperty());
+        payrollProgressLabel.textProperty().bind(task.messageProperty());
+        setPayrollProgressVisible(true);
+    }
+
+    private void hidePayrollProgress() {
+        payrollProgressBar.progressProperty().unbind();
+        payrollProgressLabel.textProperty().unbind();
+        setPayrollProgressVisible(false);
+        payrollButton.setDisable(false);
+    }
+
+    private void setPayrollProgressVisible(boolean visible) {
+        payrollProgressBar.setVisible(visible);
+        payrollProgressBar.setManaged(visible);
+        payrollProgressLabel.setVisible(visible);
+        payrollProgressLabel.setManaged(visible);
+    }
+
+    /**
+     * One export run, writing to the chosen file
+     */
+    @FunctionalInterface
+    private interface ExportJob {
+        long run(ExportService.Format format, OutputStream out, ProgressListener progress);
+    }
+
+    @FXML
+    private void handleExportEmployes() {
+        exporter("employes", exportService::exportEmployes);
+    }
+
+    @FXML
+    private void handleExportConges() {
+        exporter("conges", exportService::exportConges);
+    }
+
+    @FXML
+    private void handleExportBulletins() {
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.setTitle("Exporter les bulletins de paie");
+        dialog.setHeaderText("Laisser vide pour exporter toutes les périodes");
+        dialog.setContentText("Période (ex: 2026-01):");
+
+        dialog.showAndWait().map(String::trim).ifPresent(periode -> exporter(
+                periode.isEmpty() ? "bulletins" : "bulletins-" + periode,
+                (format, out, progress) -> exportService.exportBulletins(
+                        periode.isEmpty() ? null : periode, format, out, progress)));
+    }
+
+    private void exporter(String nomFichier, ExportJob job) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Exporter");
+        chooser.setInitialFileName(nomFichier + "." + ExportService.Format.XLSX.getExtension());
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Classeur Excel (*.xlsx)", "*.xlsx"),
+                new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"));
+        File file = chooser.showSaveDialog(mainTabPane.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        ExportService.Format format = ExportService.Format.ofFileName(file.getName());
+
+        Task<Long> task = new Task<>() {
+            @Override
+            protected Long call() throws IOException {
+                boolean complete = false;
+                try {
+                    long rows;
+                    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+                        rows = job.run(format, out, (done, total) -> {
+                            updateProgress(done, total);
+                            updateMessage(done + " / " + total + " lignes");
+                        });
+                    }
+                    complete = true;
+                    return rows;
+                } finally {
+                    // A failed or cancelled export leaves no incomplete file behind
+                    if (!complete) {
+                        Files.deleteIfExists(file.toPath());
+                    }
+                }
+            }
+        };
+        showExportProgress(task);
+
+        loader.submit("export", task,
+                rows -> {
+                    hideExportProgress();
+                    showAlert(Alert.AlertType.INFORMATION, "Succès",
+                            rows + " lignes exportées dans " + file.getName());
+                },
+                e -> {
+                    hideExportProgress();
+                    showError("lors de l'export", e);
+                });
+    }
+
+    private void showExportProgress(Task<?> task) {
+        exportMenu.setDisable(true);
+        exportProgressBar.progressProperty().bind(task.progressProperty());
+        exportProgressLabel.textProperty().bind(task.messageProperty());
+        setExportProgressVisible(true);
+    }
+
+    private void hideExportProgress() {
+        exportProgressBar.progressProperty().unbind();
+        exportProgressLabel.textProperty().unbind();
+        setExportProgressVisible(false);
+        exportMenu.setDisable(false);
+    }
+
+    private void setExportProgressVisible(boolean visible) {
+        exportProgressBar.setVisible(visible);
+        exportProgressBar.setManaged(visible);
+        exportProgressLabel.setVisible(visible);
+        exportProgressLabel.setManaged(visible);
+    }
+
+    private void handleViewBulletin(BulletinPaieRow row) {
+        findBulletin(row, this::showBulletinRecu);
+    }
+
+    private void showBulletinRecu(BulletinPaie bulletin) {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Bulletin de Paie");
         alert.setHeaderText("Détails du bulletin");
@@ -1010,30 +1509,45 @@ public class DashboardController {
         alert.showAndWait();
     }
 
-    private void handleEditBulletin(BulletinPaie bulletin) {
-        showEditBulletinDialog(bulletin);
+    private void handleEditBulletin(BulletinPaieRow row) {
+        findBulletin(row, this::showEditBulletinDialog);
     }
 
-    private void handleDeleteBulletin(BulletinPaie bulletin) {
+    // Load the payslip in the background, then hand it to the action, or drop the row if it was deleted
+    private void findBulletin(BulletinPaieRow row, Consumer<BulletinPaie> action) {
+        loader.load("bulletin-" + row.id(), () -> bulletinService.getBulletinById(row.id()),
+                bulletin -> {
+                    if (bulletin == null) {
+                        showAlert(Alert.AlertType.ERROR, "Erreur", "Ce bulletin n'existe plus");
+                        bulletinsPager.remove(row);
+                        return;
+                    }
+                    action.accept(bulletin);
+                },
+                e -> showError("lors du chargement du bulletin", e));
+    }
+
+    private void handleDeleteBulletin(BulletinPaieRow bulletin) {
         Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
         confirmAlert.setTitle("Confirmation de suppression");
         confirmAlert.setHeaderText("Supprimer le bulletin de paie");
         confirmAlert.setContentText("Êtes-vous sûr de vouloir supprimer ce bulletin?\n" +
-                "Employé: " + bulletin.getEmploye().getNomComplet() + "\n" +
-                "Période: " + bulletin.getPeriode() + "\n" +
-                "Salaire Net: " + bulletin.getSalaireNet() + " DH");
+                "Employé: " + bulletin.employeNomComplet() + "\n" +
+                "Période: " + bulletin.periode() + "\n" +
+                "Salaire Net: " + bulletin.salaireNet() + " DH");
 
         Optional<ButtonType> result = confirmAlert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            try {
-                bulletinService.deleteBulletin(bulletin.getId());
-                loadBulletins();
-                updateStatistics();
-                showAlert(Alert.AlertType.INFORMATION, "Succès", "Bulletin supprimé avec succès");
-            } catch (Exception e) {
-                showAlert(Alert.AlertType.ERROR, "Erreur",
-                    "Une erreur est survenue lors de la suppression:\n" + e.getMessage());
-            }
+            loader.write("bulletin-" + bulletin.id(), () -> {
+                        bulletinService.deleteBulletin(bulletin.id());
+                        return null;
+                    },
+                    ignored -> {
+                        bulletinsPager.remove(bulletin);
+                        updateStatistics();
+                        showAlert(Alert.AlertType.INFORMATION, "Succès", "Bulletin supprimé avec succès");
+                    },
+                    e -> showError("lors de la suppression", e));
         }
     }
 
@@ -1050,7 +1564,7 @@ public class DashboardController {
         grid.setPadding(new Insets(20, 150, 10, 10));
 
         ComboBox<Employe> employeCombo = new ComboBox<>();
-        employeCombo.setItems(FXCollections.observableArrayList(employeService.getAllEmployes()));
+        loadEmployeChoices(employeCombo);
         employeCombo.setConverter(new javafx.util.StringConverter<Employe>() {
             @Override
             public String toString(Employe employe) {
@@ -1146,19 +1660,21 @@ public class DashboardController {
                     }
 
                     // All validation passed, generate payslip
-                    bulletinService.genererBulletin(
-                            employeCombo.getValue().getId(),
-                            periodeField.getText().trim(),
-                            new BigDecimal(primesField.getText().trim()),
-                            new BigDecimal(retenuesField.getText().trim()));
-                    loadBulletins();
-                    updateStatistics();
-                    showAlert(Alert.AlertType.INFORMATION, "Succès", "Bulletin de paie généré avec succès");
+                    Integer employeId = employeCombo.getValue().getId();
+                    String periode = periodeField.getText().trim();
+                    BigDecimal montantPrimes = primes;
+                    BigDecimal montantRetenues = retenues;
+                    loader.write("bulletin-nouveau",
+                            () -> bulletinService.genererBulletin(employeId, periode, montantPrimes, montantRetenues),
+                            created -> {
+                                bulletinsPager.put(BulletinPaieRow.of(created));
+                                updateStatistics();
+                                showAlert(Alert.AlertType.INFORMATION, "Succès", "Bulletin de paie généré avec succès");
+                            },
+                            e -> showError("lors de la génération du bulletin", e));
 
                 } catch (Exception e) {
-                    showAlert(Alert.AlertType.ERROR, "Erreur",
-                        "Une erreur est survenue lors de la génération du bulletin:\n" + e.getMessage());
-                    e.printStackTrace();
+                    showError("lors de la génération du bulletin", e);
                 }
             }
         });
@@ -1261,15 +1777,19 @@ public class DashboardController {
                     bulletin.setRetenues(new BigDecimal(retenuesField.getText().trim()));
 
                     // Save changes
-                    bulletinService.updateBulletin(bulletin);
-                    loadBulletins();
-                    updateStatistics();
-                    showAlert(Alert.AlertType.INFORMATION, "Succès", "Bulletin modifié avec succès");
+                    loader.write("bulletin-" + bulletin.getId(), () -> {
+                                bulletinService.updateBulletin(bulletin);
+                                return bulletin;
+                            },
+                            updated -> {
+                                bulletinsPager.put(BulletinPaieRow.of(updated));
+                                updateStatistics();
+                                showAlert(Alert.AlertType.INFORMATION, "Succès", "Bulletin modifié avec succès");
+                            },
+                            e -> showError("lors de la modification du bulletin", e));
 
                 } catch (Exception e) {
-                    showAlert(Alert.AlertType.ERROR, "Erreur",
-                        "Une erreur est survenue lors de la modification du bulletin:\n" + e.getMessage());
-                    e.printStackTrace();
+                    showError("lors de la modification du bulletin", e);
                 }
             }
         });
@@ -1284,43 +1804,51 @@ public class DashboardController {
     }
 
     private void loadEmployes() {
-        try {
-            List<Employe> employes = employeService.getAllEmployes();
-            employesTable.setItems(FXCollections.observableArrayList(employes));
-            // Force table to refresh so UI shows immediate changes
-            employesTable.refresh();
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors du chargement des employés");
-        }
+        shownSearchTerm = null;
+        employesPager.reset(employeService::getEmployesPage);
     }
 
-    private void loadConges() {
-        try {
-            List<Conge> conges = congeService.getAllConges();
-            congesTable.setItems(FXCollections.observableArrayList(conges));
-            // Force table to refresh so UI shows immediate changes
-            congesTable.refresh();
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors du chargement des congés");
-        }
+    private void loadBulletins() {
+        bulletinsPager.reset(bulletinService::getBulletinsPage);
     }
 
-    private void loadBulletins() {
-        try {
-            List<BulletinPaie> bulletins = bulletinService.getAllBulletins();
-            bulletinsTable.setItems(FXCollections.observableArrayList(bulletins));
-            // Force table to refresh so UI shows immediate changes
-            bulletinsTable.refresh();
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors du chargement des bulletins");
+    // Apply a changed (or deleted, when row is null) employee to the paged rows and the search results
+    private void applyEmployeChange(Integer id, EmployeRow row) {
+        if (row != null) {
+            employesPager.put(row);
+        } else {
+            employesPager.removeIf(employe -> employe.id().equals(id));
+        }
+        if (!employesPager.isShown()) {
+            ObservableList<EmployeRow> results = employesTable.getItems();
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).id().equals(id)) {
+                    if (row != null) {
+                        results.set(i, row);
+                    } else {
+                        results.remove(i);
+                    }
+                    break;
+                }
+            }
         }
     }
 
+    private void showEmployes(List<EmployeRow> employes) {
+        employesTable.setPlaceholder(new Label("Aucun employé"));
+        employesTable.setItems(FXCollections.observableArrayList(employes));
+        // Force table to refresh so UI shows immediate changes
+        employesTable.refresh();
+    }
+
+
     // ========== UTILITY METHODS ==========
 
     @FXML
     private void handleLogout() {
         try {
+            searchDebounce.stop();
+            loader.cancelAll();
             authService.logout();
             MainApp.showLoginView();
         } catch (Exception e) {
@@ -1349,6 +1877,19 @@ public class DashboardController {
         }
     }
 
+    // Fill an employee picker in the background, so the dialog opens at once
+    private void loadEmployeChoices(ComboBox<Employe> employeCombo) {
+        loader.load("choix-employes", employeService::getAllEmployes,
+                employes -> employeCombo.setItems(FXCollections.observableArrayList(employes)),
+                e -> showError("lors du chargement des employés", e));
+    }
+
+    // Report a failed service call with its root cause, e.g. "Solde de congés insuffisant"
+    private void showError(String when, Throwable e) {
+        showAlert(Alert.AlertType.ERROR, "Erreur",
+                "Une erreur est survenue " + when + ":\n" + ServiceException.from(e).getReason());
+    }
+
     private void showAlert(Alert.AlertType type, String title, String content) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
@@ -5,10 +5,19 @@ import com.rh.javafx.model.BulletinPaie;
 import com.rh.javafx.model.Conge;
 import com.rh.javafx.model.Conge.StatutConge;
 import com.rh.javafx.model.Employe;
+import com.rh.javafx.service.AsyncBulletinPaieService;
+import com.rh.javafx.service.AsyncCongeService;
+import com.rh.javafx.service.AsyncEmployeService;
 import com.rh.javafx.service.AuthService;
 import com.rh.javafx.service.BulletinPaieService;
 import com.rh.javafx.service.CongeService;
+import com.rh.javafx.service.ServiceException;
+import com.rh.javafx.util.WorkingDayCalendar;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
@@ -85,8 +94,16 @@ public class EmployeeDashboardController {
 
     private final CongeService congeService = new CongeService();
     private final BulletinPaieService bulletinService = new BulletinPaieService();
+    private final AsyncCongeService asyncCongeService = new AsyncCongeService(congeService);
+    private final AsyncBulletinPaieService asyncBulletinService = new AsyncBulletinPaieService(bulletinService);
+    private final AsyncEmployeService asyncEmployeService = new AsyncEmployeService();
     private Employe currentEmploye;
 
+    // Leaves loaded once per change; the status filter and column sorting only act on this list
+    private final ObservableList<Conge> conges = FXCollections.observableArrayList();
+    private final FilteredList<Conge> filteredConges = new FilteredList<>(conges);
+    private final SortedList<Conge> sortedConges = new SortedList<>(filteredConges);
+
     @FXML
     public void initialize() {
         currentEmploye = AuthService.getCurrentEmploye();
@@ -114,6 +131,9 @@ public class EmployeeDashboardController {
     }
 
     private void setupCongesTable() {
+        sortedConges.comparatorProperty().bind(congesTable.comparatorProperty());
+        congesTable.setItems(sortedConges);
+
         congeDateDebutColumn.setCellValueFactory(new PropertyValueFactory<>("dateDebut"));
         congeDateFinColumn.setCellValueFactory(new PropertyValueFactory<>("dateFin"));
         congeDureeColumn.setCellValueFactory(new PropertyValueFactory<>("dureeJours"));
@@ -309,15 +329,13 @@ public class EmployeeDashboardController {
 
         Optional<ButtonType> result = confirmAlert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            try {
-                congeService.deleteConge(conge.getId());
-                filterConges();
-                updateEmployeeInfo();
-                showAlert(Alert.AlertType.INFORMATION, "Succès", "Demande supprimée avec succès");
-            } catch (Exception e) {
-                showAlert(Alert.AlertType.ERROR, "Erreur",
-                        "Une erreur est survenue lors de la suppression:\n" + e.getMessage());
-            }
+            asyncCongeService.deleteConge(conge.getId())
+                    .thenRunAsync(() -> {
+                        loadConges();
+                        updateEmployeeInfo();
+                        showAlert(Alert.AlertType.INFORMATION, "Succès", "Demande supprimée avec succès");
+                    }, Platform::runLater)
+                    .exceptionally(e -> showWriteError("lors de la suppression", e));
         }
     }
 
@@ -407,9 +425,9 @@ public class EmployeeDashboardController {
                         return;
                     }
 
-                        // Calculate requested duration (inclusive)
-                        int duree = (int) java.time.temporal.ChronoUnit.DAYS.between(
-                            dateDebutPicker.getValue(), dateFinPicker.getValue()) + 1;
+                        // Calculate requested duration in working days (inclusive)
+                        int duree = WorkingDayCalendar.getDefault().countWorkingDays(
+                            dateDebutPicker.getValue(), dateFinPicker.getValue());
                         int joursRestants = currentEmploye.getJoursCongesRestants();
                         if (duree > joursRestants) {
                         showAlert(Alert.AlertType.ERROR, "Erreur",
@@ -419,21 +437,18 @@ public class EmployeeDashboardController {
                         return;
                         }
 
-                        // Create leave request
-                        congeService.demanderConge(
-                            currentEmploye.getId(),
-                            dateDebutPicker.getValue(),
-                            dateFinPicker.getValue(),
-                            typeCombo.getValue(),
-                            motifField.getText());
-                        filterConges();
-                        updateEmployeeInfo();
-                        showAlert(Alert.AlertType.INFORMATION, "Succès", "Demande de congé créée avec succès");
+                    // Create leave request
+                    asyncCongeService.demanderConge(currentEmploye.getId(), dateDebutPicker.getValue(),
+                                    dateFinPicker.getValue(), typeCombo.getValue(), motifField.getText())
+                            .thenAcceptAsync(created -> {
+                                loadConges();
+                                updateEmployeeInfo();
+                                showAlert(Alert.AlertType.INFORMATION, "Succès", "Demande de congé créée avec succès");
+                            }, Platform::runLater)
+                            .exceptionally(e -> showWriteError("lors de la création du congé", e));
 
                 } catch (Exception e) {
-                    showAlert(Alert.AlertType.ERROR, "Erreur",
-                            "Une erreur est survenue lors de la création du congé:\n" + e.getMessage());
-                    e.printStackTrace();
+                    showWriteError("lors de la création du congé", e);
                 }
             }
         });
@@ -507,8 +522,8 @@ public class EmployeeDashboardController {
 
                         // Validate that the updated duration doesn't exceed remaining days
                         int oldDuree = conge.getDureeJours();
-                        int newDuree = (int) java.time.temporal.ChronoUnit.DAYS.between(
-                            dateDebutPicker.getValue(), dateFinPicker.getValue()) + 1;
+                        int newDuree = WorkingDayCalendar.getDefault().countWorkingDays(
+                            dateDebutPicker.getValue(), dateFinPicker.getValue());
                         int joursRestants = conge.getEmploye().getJoursCongesRestants();
                         int disponible = joursRestants + oldDuree;
                         if (newDuree > disponible) {
@@ -525,16 +540,17 @@ public class EmployeeDashboardController {
                         conge.setTypeConge(typeCombo.getValue());
                         conge.setMotif(motifField.getText());
 
-                        // Save changes
-                        congeService.updateConge(conge);
-                        filterConges();
-                        updateEmployeeInfo();
-                        showAlert(Alert.AlertType.INFORMATION, "Succès", "Congé modifié avec succès");
+                    // Save changes
+                    asyncCongeService.updateConge(conge)
+                            .thenAcceptAsync(updated -> {
+                                loadConges();
+                                updateEmployeeInfo();
+                                showAlert(Alert.AlertType.INFORMATION, "Succès", "Congé modifié avec succès");
+                            }, Platform::runLater)
+                            .exceptionally(e -> showWriteError("lors de la modification du congé", e));
 
                 } catch (Exception e) {
-                    showAlert(Alert.AlertType.ERROR, "Erreur",
-                            "Une erreur est survenue lors de la modification du congé:\n" + e.getMessage());
-                    e.printStackTrace();
+                    showWriteError("lors de la modification du congé", e);
                 }
             }
         });
@@ -548,42 +564,42 @@ public class EmployeeDashboardController {
     }
 
     private void filterConges() {
-        String filter = congeFilterCombo.getValue();
-        if (filter.equals("Tous")) {
-            loadConges();
-        } else {
-            StatutConge statut = switch (filter) {
-                case "En Attente" -> StatutConge.EN_ATTENTE;
-                case "Approuvé" -> StatutConge.APPROUVE;
-                case "Rejeté" -> StatutConge.REJETE;
-                default -> null;
-            };
-            if (statut != null) {
-                List<Conge> allConges = congeService.getCongesByEmploye(currentEmploye.getId());
-                List<Conge> filteredConges = allConges.stream()
-                        .filter(c -> c.getStatut() == statut)
-                        .collect(java.util.stream.Collectors.toList());
-                congesTable.setItems(FXCollections.observableArrayList(filteredConges));
-                // Ensure the table redraws immediately after items change
-                congesTable.refresh();
-            }
-        }
+        // "Tous" maps to no status filter
+        StatutConge statut = switch (congeFilterCombo.getValue()) {
+            case "En Attente" -> StatutConge.EN_ATTENTE;
+            case "Approuvé" -> StatutConge.APPROUVE;
+            case "Rejeté" -> StatutConge.REJETE;
+            default -> null;
+        };
+        filteredConges.setPredicate(statut == null ? null : conge -> conge.getStatut() == statut);
     }
 
     private void loadAllData() {
-        loadConges();
-        loadBulletins();
+        // Leaves and payslips are fetched concurrently, both tables are filled once both are back
+        Integer employeId = currentEmploye.getId();
+        asyncCongeService.getCongesByEmploye(employeId)
+                .thenAcceptBothAsync(asyncBulletinService.getBulletinsByEmploye(employeId),
+                        (congeList, bulletins) -> {
+                            showConges(congeList);
+                            showBulletins(bulletins);
+                        },
+                        Platform::runLater)
+                .exceptionally(this::showLoadError);
     }
 
     private void loadConges() {
-        List<Conge> conges = congeService.getCongesByEmploye(currentEmploye.getId());
-        congesTable.setItems(FXCollections.observableArrayList(conges));
+        asyncCongeService.getCongesByEmploye(currentEmploye.getId())
+                .thenAcceptAsync(this::showConges, Platform::runLater)
+                .exceptionally(this::showLoadError);
+    }
+
+    private void showConges(List<Conge> congeList) {
+        conges.setAll(congeList);
         // Force table to refresh so UI shows immediate changes
         congesTable.refresh();
     }
 
-    private void loadBulletins() {
-        List<BulletinPaie> bulletins = bulletinService.getBulletinsByEmploye(currentEmploye.getId());
+    private void showBulletins(List<BulletinPaie> bulletins) {
         bulletinsTable.setItems(FXCollections.observableArrayList(bulletins));
         // Force table to refresh so UI shows immediate changes
         bulletinsTable.refresh();
@@ -591,8 +607,27 @@ public class EmployeeDashboardController {
 
     private void updateEmployeeInfo() {
         // Refresh employee data from database
-        currentEmploye = new com.rh.javafx.service.EmployeService().getEmployeById(currentEmploye.getId());
-        employeeCongesRestantsLabel.setText(currentEmploye.getJoursCongesRestants() + " jours");
+        asyncEmployeService.getEmployeById(currentEmploye.getId())
+                .thenAcceptAsync(employe -> {
+                    currentEmploye = employe;
+                    employeeCongesRestantsLabel.setText(employe.getJoursCongesRestants() + " jours");
+                }, Platform::runLater)
+                .exceptionally(this::showLoadError);
+    }
+
+    private Void showLoadError(Throwable error) {
+        String reason = ServiceException.from(error).getReason();
+        Platform.runLater(() -> showAlert(Alert.AlertType.ERROR, "Erreur",
+                "Erreur lors du chargement des données:\n" + reason));
+        return null;
+    }
+
+    // Report a failed write with its root cause, e.g. "Solde de congés insuffisant"
+    private Void showWriteError(String when, Throwable error) {
+        String reason = ServiceException.from(error).getReason();
+        Platform.runLater(() -> showAlert(Alert.AlertType.ERROR, "Erreur",
+                "Une erreur est survenue " + when + ":\n" + reason));
+        return null;
     }
 
     @FXML
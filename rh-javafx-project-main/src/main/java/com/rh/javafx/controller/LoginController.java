@@ -2,6 +2,7 @@ package com.rh.javafx.controller;
 
 import com.rh.javafx.MainApp;
 import com.rh.javafx.service.AuthService;
+import com.rh.javafx.service.ServiceException;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
@@ -33,8 +34,12 @@ public class LoginController {
 
     @FXML
     public void initialize() {
-        // Initialize default admin account if needed
-        authService.initializeDefaultAdmin();
+        // Initialize default admin account if needed; when the database is down the login reports it
+        try {
+            authService.initializeDefaultAdmin();
+        } catch (ServiceException e) {
+            System.err.println(e.getMessage() + ": " + e.getReason());
+        }
 
         // Hide error label initially
         errorLabel.setVisible(false);
@@ -70,8 +75,7 @@ public class LoginController {
                 passwordField.clear();
             }
         } catch (Exception e) {
-            showError("Erreur de connexion: " + e.getMessage());
-            e.printStackTrace();
+            showError("Erreur de connexion: " + ServiceException.from(e).getReason());
         }
     }
 
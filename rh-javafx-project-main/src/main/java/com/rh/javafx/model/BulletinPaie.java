@@ -12,8 +12,14 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "bulletin_paie")
+@NamedEntityGraph(name = BulletinPaie.GRAPH_EMPLOYE, attributeNodes = @NamedAttributeNode("employe"))
 public class BulletinPaie {
 
+    /**
+     * Fetch graph for payslips used with their employee (receipts, the employee's own list)
+     */
+    public static final String GRAPH_EMPLOYE = "BulletinPaie.employe";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -62,7 +68,7 @@ public class BulletinPaie {
         this.periode = periode;
         this.salaireBrut = salaireBrut;
         this.employe = employe;
-        this.salaireNet = calculerNet();
+        this.salaireNet = calculerNet(salaireBrut, primes, retenues);
     }
 
     // JavaFX Property Getters
@@ -206,6 +212,11 @@ public class BulletinPaie {
 
     // Business Methods
     public BigDecimal calculerNet() {
+        return calculerNet(salaireBrut, primes, retenues);
+    }
+
+    // Static so that the constructor does not call an overridable method
+    private static BigDecimal calculerNet(BigDecimal salaireBrut, BigDecimal primes, BigDecimal retenues) {
         if (salaireBrut == null) {
             return BigDecimal.ZERO;
         }
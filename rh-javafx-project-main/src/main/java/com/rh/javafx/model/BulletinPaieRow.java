@@ -0,0 +1,33 @@
+package com.rh.javafx.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * BulletinPaie table row - Read-only projection of the columns shown in the payslips table
+ */
+public record BulletinPaieRow(Integer id, Integer employeId, String employeNom, String employePrenom, String periode,
+                              LocalDate dateEmission, BigDecimal salaireBrut, BigDecimal primes,
+                              BigDecimal retenues, BigDecimal salaireNet) {
+
+    // Same order as the paged payslips query: dateEmission, id descending
+    public static final Comparator<BulletinPaieRow> ORDER = Comparator
+            .comparing(BulletinPaieRow::dateEmission, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+            .thenComparing(BulletinPaieRow::id)
+            .reversed();
+
+    /**
+     * Build the row of a payslip whose employee is loaded
+     */
+    public static BulletinPaieRow of(BulletinPaie bulletin) {
+        Employe employe = bulletin.getEmploye();
+        return new BulletinPaieRow(bulletin.getId(), employe.getId(), employe.getNom(), employe.getPrenom(),
+                bulletin.getPeriode(), bulletin.getDateEmission(), bulletin.getSalaireBrut(),
+                bulletin.getPrimes(), bulletin.getRetenues(), bulletin.getSalaireNet());
+    }
+
+    public String employeNomComplet() {
+        return employePrenom + " " + employeNom;
+    }
+}
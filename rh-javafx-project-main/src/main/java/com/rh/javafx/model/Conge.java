@@ -1,9 +1,9 @@
 package com.rh.javafx.model;
 
+import com.rh.javafx.util.WorkingDayCalendar;
 import javafx.beans.property.*;
 import javax.persistence.*;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
 /**
@@ -11,8 +11,14 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "conge")
+@NamedEntityGraph(name = Conge.GRAPH_EMPLOYE, attributeNodes = @NamedAttributeNode("employe"))
 public class Conge {
 
+    /**
+     * Fetch graph for leaves used with their employee (decisions, edits, the employee's own list)
+     */
+    public static final String GRAPH_EMPLOYE = "Conge.employe";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -41,6 +47,11 @@ public class Conge {
     @JoinColumn(name = "employe_id", nullable = false)
     private Employe employe;
 
+    // Optimistic lock; the default covers rows that existed before the column
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     // JavaFX Properties
     private transient IntegerProperty idProperty;
     private transient ObjectProperty<LocalDate> dateDebutProperty;
@@ -82,7 +93,7 @@ public class Conge {
         this.dateFin = dateFin;
         this.typeConge = typeConge;
         this.employe = employe;
-        this.dureeJours = calculerDuree();
+        this.dureeJours = calculerDuree(dateDebut, dateFin);
     }
 
     // JavaFX Property Getters
@@ -140,6 +151,14 @@ public class Conge {
         }
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDate getDateDebut() {
         return dateDebut;
     }
@@ -214,9 +233,15 @@ public class Conge {
     }
 
     // Business Methods
+    // Weekends and public holidays are not charged against the balance
     public int calculerDuree() {
+        return calculerDuree(dateDebut, dateFin);
+    }
+
+    // Static so that the constructor does not call an overridable method
+    private static int calculerDuree(LocalDate dateDebut, LocalDate dateFin) {
         if (dateDebut != null && dateFin != null) {
-            return (int) ChronoUnit.DAYS.between(dateDebut, dateFin) + 1;
+            return WorkingDayCalendar.getDefault().countWorkingDays(dateDebut, dateFin);
         }
         return 0;
     }
@@ -0,0 +1,37 @@
+package com.rh.javafx.model;
+
+import com.rh.javafx.model.Conge.StatutConge;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Conge table row - Read-only projection of the columns shown in the leaves table
+ */
+public record CongeRow(Integer id, Integer employeId, String employeNom, String employePrenom, LocalDate dateDebut,
+                       LocalDate dateFin, String typeConge, Integer dureeJours, StatutConge statut) {
+
+    // Same order as the paged leaves query: dateDebut, id descending
+    public static final Comparator<CongeRow> ORDER = Comparator
+            .comparing(CongeRow::dateDebut)
+            .thenComparing(CongeRow::id)
+            .reversed();
+
+    /**
+     * Build the row of a leave whose employee is loaded
+     */
+    public static CongeRow of(Conge conge) {
+        Employe employe = conge.getEmploye();
+        return new CongeRow(conge.getId(), employe.getId(), employe.getNom(), employe.getPrenom(),
+                conge.getDateDebut(), conge.getDateFin(), conge.getTypeConge(), conge.getDureeJours(),
+                conge.getStatut());
+    }
+
+    public String employeNomComplet() {
+        return employePrenom + " " + employeNom;
+    }
+
+    public boolean estEnAttente() {
+        return statut == StatutConge.EN_ATTENTE;
+    }
+}
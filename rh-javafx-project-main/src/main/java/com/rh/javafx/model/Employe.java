@@ -1,6 +1,9 @@
 package com.rh.javafx.model;
 
 import javafx.beans.property.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,6 +16,8 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "employe")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Employe {
 
     @Id
@@ -56,6 +61,11 @@ public class Employe {
     @Column(name = "mot_de_passe_hash", length = 255)
     private String motDePasseHash;
 
+    // Optimistic lock; the default covers rows that existed before the column
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @OneToMany(mappedBy = "employe", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Conge> conges = new HashSet<>();
 
@@ -164,6 +174,14 @@ public class Employe {
         }
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getMatricule() {
         return matricule;
     }
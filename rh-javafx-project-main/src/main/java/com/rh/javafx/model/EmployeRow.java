@@ -0,0 +1,26 @@
+package com.rh.javafx.model;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+
+/**
+ * Employe table row - Read-only projection of the columns shown in the employees table
+ */
+public record EmployeRow(Integer id, String matricule, String nom, String prenom, String email,
+                         String poste, BigDecimal salaireBase, Integer joursCongesRestants) {
+
+    // Same order as the paged employees query: nom, prenom, id
+    public static final Comparator<EmployeRow> ORDER = Comparator
+            .comparing(EmployeRow::nom, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(EmployeRow::prenom, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(EmployeRow::id);
+
+    public static EmployeRow of(Employe employe) {
+        return new EmployeRow(employe.getId(), employe.getMatricule(), employe.getNom(), employe.getPrenom(),
+                employe.getEmail(), employe.getPoste(), employe.getSalaireBase(), employe.getJoursCongesRestants());
+    }
+
+    public String nomComplet() {
+        return prenom + " " + nom;
+    }
+}
@@ -0,0 +1,17 @@
+package com.rh.javafx.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Payslip totals of one payroll period - Read-only projection of the period summary query
+ */
+public record PayrollPeriodSummary(String periode, long nombreBulletins, BigDecimal salaireBrut, BigDecimal primes,
+                                   BigDecimal retenues, BigDecimal salaireNet) {
+
+    /**
+     * Summary of a period without payslips
+     */
+    public static PayrollPeriodSummary empty(String periode) {
+        return new PayrollPeriodSummary(periode, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
@@ -1,5 +1,8 @@
 package com.rh.javafx.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.Objects;
 
@@ -8,6 +11,8 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "responsable_rh")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ResponsableRH {
 
     @Id
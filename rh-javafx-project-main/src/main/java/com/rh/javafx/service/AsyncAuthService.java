@@ -0,0 +1,39 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.util.ServiceExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous API over AuthService
+ * Only the calls that reach the database are here, the current-user accessors stay on AuthService.
+ */
+public class AsyncAuthService {
+
+    private final AuthService authService;
+
+    public AsyncAuthService() {
+        this(new AuthService());
+    }
+
+    public AsyncAuthService(AuthService authService) {
+        this.authService = authService;
+    }
+
+    public CompletableFuture<Boolean> login(String email, String password) {
+        return ServiceExecutor.supply(() -> authService.login(email, password));
+    }
+
+    public CompletableFuture<Void> createAccount(String nom, String prenom, String email, String password,
+                                                 String telephone) {
+        return ServiceExecutor.run(() -> authService.createAccount(nom, prenom, email, password, telephone));
+    }
+
+    public CompletableFuture<Void> logout() {
+        return ServiceExecutor.run(authService::logout);
+    }
+
+    public CompletableFuture<Void> initializeDefaultAdmin() {
+        return ServiceExecutor.run(authService::initializeDefaultAdmin);
+    }
+}
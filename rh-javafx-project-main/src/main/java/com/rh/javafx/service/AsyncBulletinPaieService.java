@@ -0,0 +1,137 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.model.BulletinPaie;
+import com.rh.javafx.model.BulletinPaieRow;
+import com.rh.javafx.model.PayrollPeriodSummary;
+import com.rh.javafx.service.BulletinPaieService.PayrollAdjustment;
+import com.rh.javafx.service.BulletinPaieService.PayrollRunResult;
+import com.rh.javafx.service.BulletinPaieService.SummaryRebuildResult;
+import com.rh.javafx.util.ServiceExecutor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous API over BulletinPaieService
+ * Calls run on the ServiceExecutor threads; results are not delivered on the JavaFX Application Thread.
+ */
+public class AsyncBulletinPaieService {
+
+    private final BulletinPaieService bulletinService;
+
+    public AsyncBulletinPaieService() {
+        this(new BulletinPaieService());
+    }
+
+    public AsyncBulletinPaieService(BulletinPaieService bulletinService) {
+        this.bulletinService = bulletinService;
+    }
+
+    public CompletableFuture<BulletinPaie> genererBulletin(Integer employeId, String periode,
+                                                           BigDecimal primes, BigDecimal retenues) {
+        return ServiceExecutor.supply(() -> bulletinService.genererBulletin(employeId, periode, primes, retenues));
+    }
+
+    public CompletableFuture<PayrollRunResult> genererBulletinsPeriode(
+            String periode, Map<Integer, PayrollAdjustment> adjustments, ProgressListener progress) {
+        return ServiceExecutor.supply(() -> bulletinService.genererBulletinsPeriode(periode, adjustments, progress));
+    }
+
+    public CompletableFuture<Void> updateBulletin(BulletinPaie bulletin) {
+        return ServiceExecutor.run(() -> bulletinService.updateBulletin(bulletin));
+    }
+
+    public CompletableFuture<BulletinPaie> getBulletinById(Integer id) {
+        return ServiceExecutor.supply(() -> bulletinService.getBulletinById(id));
+    }
+
+    public CompletableFuture<List<BulletinPaie>> getAllBulletins() {
+        return ServiceExecutor.supply(bulletinService::getAllBulletins);
+    }
+
+    public CompletableFuture<List<BulletinPaieRow>> getBulletinsPage(BulletinPaieRow after, int pageSize) {
+        return ServiceExecutor.supply(() -> bulletinService.getBulletinsPage(after, pageSize));
+    }
+
+    public CompletableFuture<List<BulletinPaie>> getBulletinsByEmploye(Integer employeId) {
+        return ServiceExecutor.supply(() -> bulletinService.getBulletinsByEmploye(employeId));
+    }
+
+    public CompletableFuture<List<BulletinPaie>> getBulletinsByPeriode(String periode) {
+        return ServiceExecutor.supply(() -> bulletinService.getBulletinsByPeriode(periode));
+    }
+
+    public CompletableFuture<Void> deleteBulletin(Integer id) {
+        return ServiceExecutor.run(() -> bulletinService.deleteBulletin(id));
+    }
+
+    public CompletableFuture<Long> getTotalBulletinsCount() {
+        return ServiceExecutor.supply(bulletinService::getTotalBulletinsCount);
+    }
+
+    public CompletableFuture<BigDecimal> getTotalSalaryForPeriode(String periode) {
+        return ServiceExecutor.supply(() -> bulletinService.getTotalSalaryForPeriode(periode));
+    }
+
+    public CompletableFuture<BigDecimal> getTotalSalaireBrutPeriode(String periode) {
+        return ServiceExecutor.supply(() -> bulletinService.getTotalSalaireBrutPeriode(periode));
+    }
+
+    public CompletableFuture<BigDecimal> getTotalRetenues(String periode) {
+        return ServiceExecutor.supply(() -> bulletinService.getTotalRetenues(periode));
+    }
+
+    public CompletableFuture<BigDecimal> getTotalPrimes(String periode) {
+        return ServiceExecutor.supply(() -> bulletinService.getTotalPrimes(periode));
+    }
+
+    public CompletableFuture<List<BulletinPaie>> getBulletinsOrderedBySalaireNet() {
+        return ServiceExecutor.supply(bulletinService::getBulletinsOrderedBySalaireNet);
+    }
+
+    public CompletableFuture<List<PayrollPeriodSummary>> getPeriodSummaries() {
+        return ServiceExecutor.supply(bulletinService::getPeriodSummaries);
+    }
+
+    public CompletableFuture<PayrollPeriodSummary> getPeriodSummary(String periode) {
+        return ServiceExecutor.supply(() -> bulletinService.getPeriodSummary(periode));
+    }
+
+    public CompletableFuture<Map<String, PayrollPeriodSummary>> getPeriodSummariesByDepartement(String periode) {
+        return ServiceExecutor.supply(() -> bulletinService.getPeriodSummariesByDepartement(periode));
+    }
+
+    public CompletableFuture<SummaryRebuildResult> rebuildPeriodSummaries() {
+        return ServiceExecutor.supply(bulletinService::rebuildPeriodSummaries);
+    }
+
+    public CompletableFuture<Map<String, List<BulletinPaieRow>>> getBulletinsGroupedByPeriode() {
+        return ServiceExecutor.supply(bulletinService::getBulletinsGroupedByPeriode);
+    }
+
+    public CompletableFuture<Map<String, Long>> getBulletinsCountByPeriode() {
+        return ServiceExecutor.supply(bulletinService::getBulletinsCountByPeriode);
+    }
+
+    public CompletableFuture<BigDecimal> getAverageSalaireNet() {
+        return ServiceExecutor.supply(bulletinService::getAverageSalaireNet);
+    }
+
+    public CompletableFuture<List<BulletinPaie>> getBulletinsBySalaireNetMin(BigDecimal minSalaire) {
+        return ServiceExecutor.supply(() -> bulletinService.getBulletinsBySalaireNetMin(minSalaire));
+    }
+
+    public CompletableFuture<BigDecimal> getTotalMasseSalariale() {
+        return ServiceExecutor.supply(bulletinService::getTotalMasseSalariale);
+    }
+
+    public CompletableFuture<Long> countBulletinsByEmploye(Integer employeId) {
+        return ServiceExecutor.supply(() -> bulletinService.countBulletinsByEmploye(employeId));
+    }
+
+    public CompletableFuture<String> afficherRecu(Integer bulletinId) {
+        return ServiceExecutor.supply(() -> bulletinService.afficherRecu(bulletinId));
+    }
+}
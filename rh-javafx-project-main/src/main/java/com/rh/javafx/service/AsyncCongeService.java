@@ -0,0 +1,137 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.model.Conge;
+import com.rh.javafx.model.Conge.StatutConge;
+import com.rh.javafx.model.CongeRow;
+import com.rh.javafx.service.CongeService.DecisionOutcome;
+import com.rh.javafx.util.ServiceExecutor;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous API over CongeService
+ * Calls run on the ServiceExecutor threads; results are not delivered on the JavaFX Application Thread.
+ */
+public class AsyncCongeService {
+
+    private final CongeService congeService;
+
+    public AsyncCongeService() {
+        this(new CongeService());
+    }
+
+    public AsyncCongeService(CongeService congeService) {
+        this.congeService = congeService;
+    }
+
+    public CompletableFuture<Conge> demanderConge(Integer employeId, LocalDate dateDebut, LocalDate dateFin,
+                                                  String typeConge, String motif) {
+        return ServiceExecutor.supply(
+                () -> congeService.demanderConge(employeId, dateDebut, dateFin, typeConge, motif));
+    }
+
+    public CompletableFuture<Conge> approuverConge(Integer congeId) {
+        return ServiceExecutor.supply(() -> congeService.approuverConge(congeId));
+    }
+
+    public CompletableFuture<Conge> rejeterConge(Integer congeId, String motifRejet) {
+        return ServiceExecutor.supply(() -> congeService.rejeterConge(congeId, motifRejet));
+    }
+
+    public CompletableFuture<List<DecisionOutcome>> approuverConges(Collection<Integer> congeIds) {
+        return ServiceExecutor.supply(() -> congeService.approuverConges(congeIds));
+    }
+
+    public CompletableFuture<List<DecisionOutcome>> rejeterConges(Collection<Integer> congeIds, String motifRejet) {
+        return ServiceExecutor.supply(() -> congeService.rejeterConges(congeIds, motifRejet));
+    }
+
+    public CompletableFuture<List<Conge>> getAllConges() {
+        return ServiceExecutor.supply(congeService::getAllConges);
+    }
+
+    public CompletableFuture<Conge> getCongeById(Integer id) {
+        return ServiceExecutor.supply(() -> congeService.getCongeById(id));
+    }
+
+    public CompletableFuture<List<CongeRow>> getCongesPage(StatutConge statut, CongeRow after, int pageSize) {
+        return ServiceExecutor.supply(() -> congeService.getCongesPage(statut, after, pageSize));
+    }
+
+    public CompletableFuture<List<Conge>> getPendingConges() {
+        return ServiceExecutor.supply(congeService::getPendingConges);
+    }
+
+    public CompletableFuture<List<Conge>> getCongesByEmploye(Integer employeId) {
+        return ServiceExecutor.supply(() -> congeService.getCongesByEmploye(employeId));
+    }
+
+    public CompletableFuture<List<Conge>> getCongesByStatut(StatutConge statut) {
+        return ServiceExecutor.supply(() -> congeService.getCongesByStatut(statut));
+    }
+
+    public CompletableFuture<Void> deleteConge(Integer congeId) {
+        return ServiceExecutor.run(() -> congeService.deleteConge(congeId));
+    }
+
+    public CompletableFuture<Long> getPendingCongesCount() {
+        return ServiceExecutor.supply(congeService::getPendingCongesCount);
+    }
+
+    public CompletableFuture<Conge> updateConge(Conge conge) {
+        return ServiceExecutor.supply(() -> congeService.updateConge(conge));
+    }
+
+    public CompletableFuture<Integer> getTotalJoursConge() {
+        return ServiceExecutor.supply(congeService::getTotalJoursConge);
+    }
+
+    public CompletableFuture<Double> getAverageDureeConge() {
+        return ServiceExecutor.supply(congeService::getAverageDureeConge);
+    }
+
+    public CompletableFuture<Map<String, Long>> getCongesCountByType() {
+        return ServiceExecutor.supply(congeService::getCongesCountByType);
+    }
+
+    public CompletableFuture<List<Conge>> getCongesByDateRange(LocalDate startDate, LocalDate endDate) {
+        return ServiceExecutor.supply(() -> congeService.getCongesByDateRange(startDate, endDate));
+    }
+
+    public CompletableFuture<Void> warmCalendar() {
+        return ServiceExecutor.run(congeService::warmCalendar);
+    }
+
+    public CompletableFuture<List<CongeRow>> getCongesOverlapping(String departement, LocalDate startDate,
+                                                                  LocalDate endDate) {
+        return ServiceExecutor.supply(() -> congeService.getCongesOverlapping(departement, startDate, endDate));
+    }
+
+    public CompletableFuture<List<CongeRow>> getAbsences(String departement, LocalDate date) {
+        return ServiceExecutor.supply(() -> congeService.getAbsences(departement, date));
+    }
+
+    public CompletableFuture<Long> countCongesApprouves() {
+        return ServiceExecutor.supply(congeService::countCongesApprouves);
+    }
+
+    public CompletableFuture<Map<StatutConge, Long>> getCongesCountByStatut() {
+        return ServiceExecutor.supply(congeService::getCongesCountByStatut);
+    }
+
+    public CompletableFuture<Map<StatutConge, List<CongeRow>>> getCongesGroupedByStatut() {
+        return ServiceExecutor.supply(congeService::getCongesGroupedByStatut);
+    }
+
+    public CompletableFuture<List<CongeRow>> getCongesOrderedByDate() {
+        return ServiceExecutor.supply(congeService::getCongesOrderedByDate);
+    }
+
+    public CompletableFuture<List<Conge>> getCongesByType(String typeConge) {
+        return ServiceExecutor.supply(() -> congeService.getCongesByType(typeConge));
+    }
+}
@@ -0,0 +1,78 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.model.Employe;
+import com.rh.javafx.model.EmployeRow;
+import com.rh.javafx.util.ServiceExecutor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous API over EmployeService
+ * Calls run on the ServiceExecutor threads; results are not delivered on the JavaFX Application Thread.
+ */
+public class AsyncEmployeService {
+
+    private final EmployeService employeService;
+
+    public AsyncEmployeService() {
+        this(new EmployeService());
+    }
+
+    public AsyncEmployeService(EmployeService employeService) {
+        this.employeService = employeService;
+    }
+
+    public CompletableFuture<Void> saveEmploye(Employe employe) {
+        return ServiceExecutor.run(() -> employeService.saveEmploye(employe));
+    }
+
+    public CompletableFuture<Employe> getEmployeById(Integer id) {
+        return ServiceExecutor.supply(() -> employeService.getEmployeById(id));
+    }
+
+    public CompletableFuture<Employe> getEmployeByMatricule(String matricule) {
+        return ServiceExecutor.supply(() -> employeService.getEmployeByMatricule(matricule));
+    }
+
+    public CompletableFuture<List<Employe>> getAllEmployes() {
+        return ServiceExecutor.supply(employeService::getAllEmployes);
+    }
+
+    public CompletableFuture<List<EmployeRow>> getEmployesPage(EmployeRow after, int pageSize) {
+        return ServiceExecutor.supply(() -> employeService.getEmployesPage(after, pageSize));
+    }
+
+    public CompletableFuture<List<Employe>> searchEmployes(String searchTerm) {
+        return ServiceExecutor.supply(() -> employeService.searchEmployes(searchTerm));
+    }
+
+    public CompletableFuture<List<EmployeRow>> searchEmployeRows(String searchTerm) {
+        return ServiceExecutor.supply(() -> employeService.searchEmployeRows(searchTerm));
+    }
+
+    public CompletableFuture<Void> warmSearchIndex() {
+        return ServiceExecutor.run(employeService::warmSearchIndex);
+    }
+
+    public CompletableFuture<List<Employe>> getEmployesByDepartement(String departement) {
+        return ServiceExecutor.supply(() -> employeService.getEmployesByDepartement(departement));
+    }
+
+    public CompletableFuture<Void> deleteEmploye(Integer id) {
+        return ServiceExecutor.run(() -> employeService.deleteEmploye(id));
+    }
+
+    public CompletableFuture<Long> getTotalEmployes() {
+        return ServiceExecutor.supply(employeService::getTotalEmployes);
+    }
+
+    public CompletableFuture<BigDecimal> getAverageSalary() {
+        return ServiceExecutor.supply(employeService::getAverageSalary);
+    }
+
+    public CompletableFuture<BigDecimal> getTotalSalaryBudget() {
+        return ServiceExecutor.supply(employeService::getTotalSalaryBudget);
+    }
+}
@@ -59,8 +59,7 @@ public class AuthService {
             }
             return false;
         } catch (Exception e) {
-            e.printStackTrace();
-            return false;
+            throw new ServiceException("Erreur lors de la connexion", e);
         }
     }
 
@@ -86,8 +85,7 @@ public class AuthService {
             }
             return false;
         } catch (Exception e) {
-            e.printStackTrace();
-            return false;
+            throw new ServiceException("Erreur lors de la connexion", e);
         }
     }
 
@@ -114,11 +112,8 @@ public class AuthService {
             transaction.commit();
             System.out.println("Compte créé avec succès pour: " + responsable.getNomComplet());
         } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la création du compte", e);
+            HibernateUtil.rollback(transaction, e);
+            throw new ServiceException("Erreur lors de la création du compte", e);
         }
     }
 
@@ -181,7 +176,7 @@ public class AuthService {
     /**
      * Hash a password using SHA-256
      */
-    private String hashPassword(String password) {
+    static String hashPassword(String password) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
@@ -195,7 +190,7 @@ public class AuthService {
             }
             return hexString.toString();
         } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Erreur lors du hachage du mot de passe", e);
+            throw new ServiceException("Erreur lors du hachage du mot de passe", e);
         }
     }
 
@@ -214,7 +209,7 @@ public class AuthService {
                 System.out.println("Compte admin créé: admin@rh.com / admin123");
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            throw new ServiceException("Erreur lors de la création du compte administrateur par défaut", e);
         }
     }
 }
@@ -1,23 +1,143 @@
 package com.rh.javafx.service;
 
 import com.rh.javafx.model.BulletinPaie;
+import com.rh.javafx.model.BulletinPaieRow;
 import com.rh.javafx.model.Employe;
+import com.rh.javafx.model.PayrollPeriodSummary;
 import com.rh.javafx.util.HibernateUtil;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 
+import javax.persistence.LockModeType;
+
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
 
 /**
  * Service class for Payslip (BulletinPaie) operations
  */
 public class BulletinPaieService {
 
+    private static final int BATCH_SIZE = 50;
+
+    // Summary rows named in the rebuild log, the result has them all
+    private static final int MAX_LOGGED_MISMATCHES = 20;
+
+    // Rows fetched per round trip by the streamed reads
+    private static final int FETCH_SIZE = 500;
+
+    // Employees per leaf partition of the parallel payroll computation
+    private static final int PARTITION_SIZE = 256;
+
+    private static final ForkJoinPool PAYROLL_POOL = new ForkJoinPool(payrollParallelism());
+
+    private static final String BULLETIN_ROW_SELECT =
+            "SELECT new com.rh.javafx.model.BulletinPaieRow(b.id, e.id, e.nom, e.prenom, b.periode, " +
+                    "b.dateEmission, b.salaireBrut, b.primes, b.retenues, b.salaireNet) " +
+                    "FROM BulletinPaie b JOIN b.employe e ";
+
+    private static final String INSERT_BULLETIN_SQL =
+            "INSERT INTO bulletin_paie (periode, date_emission, salaire_brut, primes, retenues, salaire_net, employe_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // Creates the period row or takes its exclusive lock, in one statement so that two runs cannot deadlock
+    private static final String LOCK_PERIOD_SQL =
+            "INSERT INTO payroll_period_lock (periode) VALUES (?) ON DUPLICATE KEY UPDATE periode = periode";
+
+    /**
+     * Per-employee bonuses and deductions for a payroll run
+     */
+    public record PayrollAdjustment(BigDecimal primes, BigDecimal retenues) {
+    }
+
+    /**
+     * Outcome of a payroll run
+     */
+    public record PayrollRunResult(String periode, int generated, int skipped) {
+    }
+
+    /**
+     * Outcome of a period summary rebuild: rows written, and the "periode / departement" rows that were wrong
+     */
+    public record SummaryRebuildResult(int rows, List<String> mismatches) {
+    }
+
+    private record PayrollInput(Integer employeId, String departement, BigDecimal salaireBase,
+                                PayrollAdjustment adjustment) {
+    }
+
+    private record PayrollLine(Integer employeId, String departement, BulletinPaie bulletin) {
+    }
+
+    /**
+     * Computes the payroll lines of a range of employees, splitting it until partitions are small enough.
+     * Partition results are joined in input order, so the output does not depend on the parallelism.
+     */
+    private static class PayrollComputeTask extends RecursiveTask<List<PayrollLine>> {
+
+        private static final long serialVersionUID = 1L;
+
+        // ForkJoinTask is Serializable, but these tasks never leave the pool
+        private final transient List<PayrollInput> inputs;
+        private final int from;
+        private final int to;
+        private final String periode;
+        private final LocalDate dateEmission;
+
+        PayrollComputeTask(List<PayrollInput> inputs, int from, int to, String periode, LocalDate dateEmission) {
+            this.inputs = inputs;
+            this.from = from;
+            this.to = to;
+            this.periode = periode;
+            this.dateEmission = dateEmission;
+        }
+
+        @Override
+        protected List<PayrollLine> compute() {
+            if (to - from <= PARTITION_SIZE) {
+                List<PayrollLine> lines = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    PayrollInput input = inputs.get(i);
+                    lines.add(new PayrollLine(input.employeId(), input.departement(),
+                            buildBulletin(periode, dateEmission, input.salaireBase(), input.adjustment())));
+                }
+                return lines;
+            }
+
+            int middle = (from + to) >>> 1;
+            PayrollComputeTask left = new PayrollComputeTask(inputs, from, middle, periode, dateEmission);
+            PayrollComputeTask right = new PayrollComputeTask(inputs, middle, to, periode, dateEmission);
+            left.fork();
+            List<PayrollLine> rightLines = right.compute();
+            List<PayrollLine> lines = left.join();
+            lines.addAll(rightLines);
+            return lines;
+        }
+    }
+
+    private static int payrollParallelism() {
+        String value = System.getenv("PAYROLL_PARALLELISM");
+        if (value != null && !value.isBlank()) {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
     /**
      * Generate a payslip for an employee
      */
@@ -26,7 +146,8 @@ public class BulletinPaieService {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
 
-            Employe employe = session.get(Employe.class, employeId);
+            // Shared lock: the delta below is filed under this department
+            Employe employe = session.find(Employe.class, employeId, LockModeType.PESSIMISTIC_READ);
             if (employe == null) {
                 throw new RuntimeException("Employé non trouvé");
             }
@@ -38,18 +159,149 @@ public class BulletinPaieService {
             bulletin.setSalaireNet(bulletin.calculerNet());
 
             session.save(bulletin);
+            PayrollSummaryTable.apply(session, PayrollSummaryTable.added(bulletin, employe.getDepartement()));
             transaction.commit();
+            DashboardStatsService.invalidate();
 
             System.out.println("Bulletin de paie généré pour: " + employe.getNomComplet() +
                     " | Période: " + periode);
             return bulletin;
         } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
+            HibernateUtil.rollback(transaction, e);
+            throw new ServiceException("Erreur lors de la génération du bulletin", e);
+        }
+    }
+
+    /**
+     * Generate the payslips of every employee for a period in one batched transaction
+     * Employees who already have a payslip for the period are skipped; runs of the same period wait for each other
+     */
+    public PayrollRunResult genererBulletinsPeriode(String periode, Map<Integer, PayrollAdjustment> adjustments,
+                                                    ProgressListener progress) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            // First statement of the transaction: the reads below must see the payslips of a run that held the lock
+            lockPeriod(session, periode);
+
+            // Shared locks on the employees paid: the totals are filed under the departments read here
+            Query<Object[]> query = session.createQuery(
+                    "SELECT e.id, e.departement, e.salaireBase FROM Employe e WHERE NOT EXISTS " +
+                            "(SELECT b.id FROM BulletinPaie b WHERE b.employe = e AND b.periode = :periode) " +
+                            "ORDER BY e.id",
+                    Object[].class);
+            query.setParameter("periode", periode);
+            query.setLockMode(LockModeType.PESSIMISTIC_READ);
+            List<Object[]> rows = query.list();
+            long totalEmployes = session.createQuery("SELECT COUNT(e) FROM Employe e", Long.class)
+                    .uniqueResult();
+
+            List<PayrollInput> inputs = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                Integer employeId = (Integer) row[0];
+                inputs.add(new PayrollInput(employeId, (String) row[1], (BigDecimal) row[2],
+                        adjustments.get(employeId)));
+            }
+
+            // Compute in parallel, then write from this thread only
+            List<PayrollLine> lines = PAYROLL_POOL.invoke(
+                    new PayrollComputeTask(inputs, 0, inputs.size(), periode, LocalDate.now()));
+            writeBulletins(session, lines, progress);
+            PayrollSummaryTable.apply(session, summaryDeltas(lines));
+            transaction.commit();
+            DashboardStatsService.invalidate();
+
+            System.out.println("Paie générée pour la période " + periode + ": " + lines.size() +
+                    " bulletins, " + (totalEmployes - lines.size()) + " ignorés");
+            return new PayrollRunResult(periode, lines.size(), (int) (totalEmployes - lines.size()));
+        } catch (Exception e) {
+            HibernateUtil.rollback(transaction, e);
+            throw new ServiceException("Erreur lors de la génération de la paie", e);
+        }
+    }
+
+    /**
+     * Take a shared lock on the employee of a payslip, and on the employee it is given to if any, in id order
+     * saveEmploye moves an employee's payroll totals under a write lock on the employee, so a payslip delta cannot
+     * be filed under the department the employee is leaving. Called first in the transaction: MySQL reads the
+     * department from the snapshot taken at the first plain read.
+     */
+    private static void lockEmployes(Session session, Integer bulletinId, Integer employeId) {
+        session.createQuery("SELECT e.id FROM Employe e WHERE e.id = :employeId OR e.id IN " +
+                        "(SELECT b.employe.id FROM BulletinPaie b WHERE b.id = :bulletinId) ORDER BY e.id",
+                        Integer.class)
+                .setParameter("employeId", employeId)
+                .setParameter("bulletinId", bulletinId)
+                .setLockMode(LockModeType.PESSIMISTIC_READ)
+                .list();
+    }
+
+    private void lockPeriod(Session session, String periode) {
+        session.doWork(connection -> {
+            try (PreparedStatement lock = connection.prepareStatement(LOCK_PERIOD_SQL)) {
+                lock.setString(1, periode);
+                lock.executeUpdate();
             }
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la génération du bulletin", e);
+        });
+    }
+
+    /**
+     * Build one payslip; calculerNet() is the per-employee computation kernel
+     */
+    private static BulletinPaie buildBulletin(String periode, LocalDate dateEmission, BigDecimal salaireBase,
+                                              PayrollAdjustment adjustment) {
+        BulletinPaie bulletin = new BulletinPaie(periode, salaireBase != null ? salaireBase : BigDecimal.ZERO, null);
+        if (adjustment != null) {
+            bulletin.setPrimes(adjustment.primes() != null ? adjustment.primes() : BigDecimal.ZERO);
+            bulletin.setRetenues(adjustment.retenues() != null ? adjustment.retenues() : BigDecimal.ZERO);
         }
+        bulletin.setDateEmission(dateEmission);
+        bulletin.setSalaireNet(bulletin.calculerNet());
+        return bulletin;
+    }
+
+    // One delta per department for the whole run
+    private static Map<PayrollSummaryTable.Key, PayrollSummaryTable.Totals> summaryDeltas(List<PayrollLine> lines) {
+        Map<PayrollSummaryTable.Key, PayrollSummaryTable.Totals> deltas = new HashMap<>();
+        for (PayrollLine line : lines) {
+            deltas.merge(new PayrollSummaryTable.Key(line.bulletin().getPeriode(), line.departement()),
+                    PayrollSummaryTable.Totals.of(line.bulletin()), PayrollSummaryTable.Totals::plus);
+        }
+        return deltas;
+    }
+
+    /**
+     * Insert payslips with JDBC batches inside the current transaction
+     * BulletinPaie uses IDENTITY keys, which rules out Hibernate insert batching
+     */
+    private void writeBulletins(Session session, List<PayrollLine> lines, ProgressListener progress) {
+        session.doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_BULLETIN_SQL)) {
+                int pending = 0;
+                int done = 0;
+                for (PayrollLine line : lines) {
+                    BulletinPaie bulletin = line.bulletin();
+                    insert.setString(1, bulletin.getPeriode());
+                    insert.setDate(2, Date.valueOf(bulletin.getDateEmission()));
+                    insert.setBigDecimal(3, bulletin.getSalaireBrut());
+                    insert.setBigDecimal(4, bulletin.getPrimes());
+                    insert.setBigDecimal(5, bulletin.getRetenues());
+                    insert.setBigDecimal(6, bulletin.getSalaireNet());
+                    insert.setInt(7, line.employeId());
+                    insert.addBatch();
+                    done++;
+                    if (++pending == BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                        progress.onProgress(done, lines.size());
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                }
+                progress.onProgress(done, lines.size());
+            }
+        });
     }
 
     /**
@@ -59,16 +311,24 @@ public class BulletinPaieService {
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
+            Integer employeId = bulletin.getEmploye() != null ? bulletin.getEmploye().getId() : null;
+            lockEmployes(session, bulletin.getId(), employeId);
             bulletin.setSalaireNet(bulletin.calculerNet());
+            Map<PayrollSummaryTable.Key, PayrollSummaryTable.Totals> deltas =
+                    new HashMap<>(PayrollSummaryTable.bulletinTotals(session, bulletin.getId()));
+            deltas.replaceAll((key, before) -> before.negate());
             session.update(bulletin);
+            session.flush();
+            // Read back from the database: the period or the employee may have changed too
+            PayrollSummaryTable.bulletinTotals(session, bulletin.getId())
+                    .forEach((key, after) -> deltas.merge(key, after, PayrollSummaryTable.Totals::plus));
+            PayrollSummaryTable.apply(session, deltas);
             transaction.commit();
+            DashboardStatsService.invalidate();
             System.out.println("Bulletin de paie mis à jour");
         } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la mise à jour du bulletin", e);
+            HibernateUtil.rollback(transaction, e);
+            throw new ServiceException("Erreur lors de la mise à jour du bulletin", e);
         }
     }
 
@@ -77,10 +337,13 @@ public class BulletinPaieService {
      */
     public BulletinPaie getBulletinById(Integer id) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.get(BulletinPaie.class, id);
+            // The employee is needed to display the payslip
+            Query<BulletinPaie> query = session.createQuery(
+                    "FROM BulletinPaie b JOIN FETCH b.employe WHERE b.id = :id", BulletinPaie.class);
+            query.setParameter("id", id);
+            return query.uniqueResult();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération du bulletin", e);
+            throw new ServiceException("Erreur lors de la récupération du bulletin", e);
         }
     }
 
@@ -94,8 +357,39 @@ public class BulletinPaieService {
                     BulletinPaie.class);
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des bulletins", e);
+            throw new ServiceException("Erreur lors de la récupération des bulletins", e);
+        }
+    }
+
+    /**
+     * Get a page of payslip rows ordered by (dateEmission, id) descending, starting after the given row
+     * Pass null to get the first page. Payslips without a date come last, as NULL sorts lowest on MySQL and H2.
+     */
+    public List<BulletinPaieRow> getBulletinsPage(BulletinPaieRow after, int pageSize) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<BulletinPaieRow> query;
+            if (after == null) {
+                query = session.createQuery(
+                        BULLETIN_ROW_SELECT + "ORDER BY b.dateEmission DESC, b.id DESC", BulletinPaieRow.class);
+            } else if (after.dateEmission() == null) {
+                query = session.createQuery(
+                        BULLETIN_ROW_SELECT + "WHERE b.dateEmission IS NULL AND b.id < :id " +
+                                "ORDER BY b.dateEmission DESC, b.id DESC",
+                        BulletinPaieRow.class);
+                query.setParameter("id", after.id());
+            } else {
+                query = session.createQuery(
+                        BULLETIN_ROW_SELECT + "WHERE b.dateEmission < :dateEmission " +
+                                "OR (b.dateEmission = :dateEmission AND b.id < :id) OR b.dateEmission IS NULL " +
+                                "ORDER BY b.dateEmission DESC, b.id DESC",
+                        BulletinPaieRow.class);
+                query.setParameter("dateEmission", after.dateEmission());
+                query.setParameter("id", after.id());
+            }
+            query.setMaxResults(pageSize);
+            return query.list();
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors de la récupération des bulletins", e);
         }
     }
 
@@ -108,10 +402,10 @@ public class BulletinPaieService {
                     "FROM BulletinPaie b WHERE b.employe.id = :empId ORDER BY b.dateEmission DESC",
                     BulletinPaie.class);
             query.setParameter("empId", employeId);
+            query.applyFetchGraph(session.getEntityGraph(BulletinPaie.GRAPH_EMPLOYE));
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des bulletins", e);
+            throw new ServiceException("Erreur lors de la récupération des bulletins", e);
         }
     }
 
@@ -126,8 +420,7 @@ public class BulletinPaieService {
             query.setParameter("periode", periode);
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des bulletins", e);
+            throw new ServiceException("Erreur lors de la récupération des bulletins", e);
         }
     }
 
@@ -138,18 +431,21 @@ public class BulletinPaieService {
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
+            lockEmployes(session, id, null);
             BulletinPaie bulletin = session.get(BulletinPaie.class, id);
             if (bulletin != null) {
+                Map<PayrollSummaryTable.Key, PayrollSummaryTable.Totals> deltas =
+                        new HashMap<>(PayrollSummaryTable.bulletinTotals(session, id));
+                deltas.replaceAll((key, totals) -> totals.negate());
+                PayrollSummaryTable.apply(session, deltas);
                 session.delete(bulletin);
                 System.out.println("Bulletin de paie supprimé");
             }
             transaction.commit();
+            DashboardStatsService.invalidate();
         } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la suppression du bulletin", e);
+            HibernateUtil.rollback(transaction, e);
+            throw new ServiceException("Erreur lors de la suppression du bulletin", e);
         }
     }
 
@@ -158,80 +454,108 @@ public class BulletinPaieService {
      */
     public long getTotalBulletinsCount() {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Query<Long> query = session.createQuery(
-                    "SELECT COUNT(b) FROM BulletinPaie b", Long.class);
-            return query.uniqueResult();
+            return PayrollSummaryTable.total(session).nombreBulletins();
         } catch (Exception e) {
-            e.printStackTrace();
-            return 0;
+            throw new ServiceException("Erreur lors du comptage des bulletins", e);
         }
     }
 
     /**
-     * Get total salary paid for a period
+     * Get the payslip count and the gross, bonus, deduction and net totals of every period
+     * Read from the period summary table, one row per period and department.
      */
-    public BigDecimal getTotalSalaryForPeriode(String periode) {
+    public List<PayrollPeriodSummary> getPeriodSummaries() {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Query<BigDecimal> query = session.createQuery(
-                    "SELECT SUM(b.salaireNet) FROM BulletinPaie b WHERE b.periode = :periode",
-                    BigDecimal.class);
-            query.setParameter("periode", periode);
-            BigDecimal result = query.uniqueResult();
-            return result != null ? result : BigDecimal.ZERO;
+            return PayrollSummaryTable.byPeriode(session, null);
         } catch (Exception e) {
-            e.printStackTrace();
-            return BigDecimal.ZERO;
+            throw new ServiceException("Erreur lors du calcul des totaux par période", e);
         }
     }
 
     /**
-     * Get total gross salary for a period
+     * Get the payslip count and totals of a period, zero when it has no payslips
      */
-    public BigDecimal getTotalSalaireBrutPeriode(String periode) {
+    public PayrollPeriodSummary getPeriodSummary(String periode) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Query<BigDecimal> query = session.createQuery(
-                    "SELECT SUM(b.salaireBrut) FROM BulletinPaie b WHERE b.periode = :periode",
-                    BigDecimal.class);
-            query.setParameter("periode", periode);
-            BigDecimal result = query.uniqueResult();
-            return result != null ? result : BigDecimal.ZERO;
+            List<PayrollPeriodSummary> summaries = PayrollSummaryTable.byPeriode(session, periode);
+            return summaries.isEmpty() ? PayrollPeriodSummary.empty(periode) : summaries.get(0);
         } catch (Exception e) {
-            e.printStackTrace();
-            return BigDecimal.ZERO;
+            throw new ServiceException("Erreur lors du calcul des totaux de la période", e);
         }
     }
 
     /**
-     * Get total deductions for a period
+     * Get the totals of a period per department, in department order
+     * Employees without a department are under the empty department "".
      */
-    public BigDecimal getTotalRetenues(String periode) {
+    public Map<String, PayrollPeriodSummary> getPeriodSummariesByDepartement(String periode) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Query<BigDecimal> query = session.createQuery(
-                    "SELECT SUM(b.retenues) FROM BulletinPaie b WHERE b.periode = :periode",
-                    BigDecimal.class);
-            query.setParameter("periode", periode);
-            BigDecimal result = query.uniqueResult();
-            return result != null ? result : BigDecimal.ZERO;
+            return PayrollSummaryTable.byDepartement(session, periode);
         } catch (Exception e) {
-            e.printStackTrace();
-            return BigDecimal.ZERO;
+            throw new ServiceException("Erreur lors du calcul des totaux par département", e);
         }
     }
 
     /**
-     * Get total bonuses for a period
+     * Recompute the period summary table from the payslips and report the rows it had wrong
      */
-    public BigDecimal getTotalPrimes(String periode) {
+    public SummaryRebuildResult rebuildPeriodSummaries() {
+        Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Query<BigDecimal> query = session.createQuery(
-                    "SELECT SUM(b.primes) FROM BulletinPaie b WHERE b.periode = :periode",
-                    BigDecimal.class);
-            query.setParameter("periode", periode);
-            BigDecimal result = query.uniqueResult();
-            return result != null ? result : BigDecimal.ZERO;
+            transaction = session.beginTransaction();
+            PayrollSummaryTable.RebuildResult result = PayrollSummaryTable.rebuild(session);
+            transaction.commit();
+            DashboardStatsService.invalidate();
+
+            List<String> mismatches = new ArrayList<>();
+            for (PayrollSummaryTable.Key key : result.mismatches()) {
+                mismatches.add(key.periode() + " / " + key.departement());
+            }
+            System.out.println("Totaux par période recalculés: " + result.rows() + " lignes, " +
+                    mismatches.size() + " écarts corrigés" + (mismatches.isEmpty() ? "" :
+                    " " + mismatches.subList(0, Math.min(mismatches.size(), MAX_LOGGED_MISMATCHES))));
+            return new SummaryRebuildResult(result.rows(), mismatches);
         } catch (Exception e) {
-            e.printStackTrace();
-            return BigDecimal.ZERO;
+            HibernateUtil.rollback(transaction, e);
+            throw new ServiceException("Erreur lors du recalcul des totaux par période", e);
+        }
+    }
+
+    /**
+     * Get total salary paid for a period
+     * Use getPeriodSummary() to read several totals of a period in one query.
+     */
+    public BigDecimal getTotalSalaryForPeriode(String periode) {
+        return getPeriodSummaryOrZero(periode).salaireNet();
+    }
+
+    /**
+     * Get total gross salary for a period
+     */
+    public BigDecimal getTotalSalaireBrutPeriode(String periode) {
+        return getPeriodSummaryOrZero(periode).salaireBrut();
+    }
+
+    /**
+     * Get total deductions for a period
+     */
+    public BigDecimal getTotalRetenues(String periode) {
+        return getPeriodSummaryOrZero(periode).retenues();
+    }
+
+    /**
+     * Get total bonuses for a period
+     */
+    public BigDecimal getTotalPrimes(String periode) {
+        return getPeriodSummaryOrZero(periode).primes();
+    }
+
+    // The single-total getters have always returned zero on failure
+    private PayrollPeriodSummary getPeriodSummaryOrZero(String periode) {
+        try {
+            return getPeriodSummary(periode);
+        } catch (RuntimeException e) {
+            return PayrollPeriodSummary.empty(periode);
         }
     }
 
@@ -245,30 +569,55 @@ public class BulletinPaieService {
                     BulletinPaie.class);
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des bulletins", e);
+            throw new ServiceException("Erreur lors de la récupération des bulletins", e);
         }
     }
 
     /**
-     * Get payslips grouped by period
+     * Pass the payslip rows to the consumer one period at a time, periods in order
+     * Rows are read through a forward-only cursor, so only the current period is held in memory.
      */
-    public Map<String, List<BulletinPaie>> getBulletinsGroupedByPeriode() {
-        List<BulletinPaie> bulletins = getAllBulletins();
-        return bulletins.stream()
-                .collect(Collectors.groupingBy(BulletinPaie::getPeriode));
+    public void forEachPeriode(BiConsumer<String, List<BulletinPaieRow>> consumer) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession();
+             ScrollableResults results = session.createQuery(
+                             BULLETIN_ROW_SELECT + "ORDER BY b.periode, e.id, b.id", BulletinPaieRow.class)
+                     .setFetchSize(FETCH_SIZE)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            String periode = null;
+            List<BulletinPaieRow> group = new ArrayList<>();
+            while (results.next()) {
+                BulletinPaieRow row = (BulletinPaieRow) results.get(0);
+                if (!group.isEmpty() && !Objects.equals(row.periode(), periode)) {
+                    consumer.accept(periode, group);
+                    group = new ArrayList<>();
+                }
+                periode = row.periode();
+                group.add(row);
+            }
+            if (!group.isEmpty()) {
+                consumer.accept(periode, group);
+            }
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors du parcours des bulletins par période", e);
+        }
+    }
+
+    /**
+     * Get payslip rows grouped by period, periods in order
+     */
+    public Map<String, List<BulletinPaieRow>> getBulletinsGroupedByPeriode() {
+        Map<String, List<BulletinPaieRow>> groups = new LinkedHashMap<>();
+        forEachPeriode(groups::put);
+        return groups;
     }
 
     /**
-     * Get count of payslips by period
+     * Get count of payslips by period, periods in order
      */
     public Map<String, Long> getBulletinsCountByPeriode() {
-        List<BulletinPaie> bulletins = getAllBulletins();
-        return bulletins.stream()
-                .collect(Collectors.groupingBy(
-                        BulletinPaie::getPeriode,
-                        Collectors.counting()
-                ));
+        Map<String, Long> counts = new LinkedHashMap<>();
+        getPeriodSummaries().forEach(summary -> counts.put(summary.periode(), summary.nombreBulletins()));
+        return counts;
     }
 
     /**
@@ -276,13 +625,13 @@ public class BulletinPaieService {
      */
     public BigDecimal getAverageSalaireNet() {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Query<Double> query = session.createQuery(
-                    "SELECT AVG(b.salaireNet) FROM BulletinPaie b", Double.class);
-            Double result = query.uniqueResult();
-            return result != null ? BigDecimal.valueOf(result) : BigDecimal.ZERO;
+            PayrollSummaryTable.Totals total = PayrollSummaryTable.total(session);
+            if (total.nombreBulletins() == 0) {
+                return BigDecimal.ZERO;
+            }
+            return total.salaireNet().divide(BigDecimal.valueOf(total.nombreBulletins()), 2, RoundingMode.HALF_UP);
         } catch (Exception e) {
-            e.printStackTrace();
-            return BigDecimal.ZERO;
+            throw new ServiceException("Erreur lors du calcul du salaire net moyen", e);
         }
     }
 
@@ -297,8 +646,7 @@ public class BulletinPaieService {
             query.setParameter("minSalaire", minSalaire);
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des bulletins", e);
+            throw new ServiceException("Erreur lors de la récupération des bulletins", e);
         }
     }
 
@@ -307,13 +655,9 @@ public class BulletinPaieService {
      */
     public BigDecimal getTotalMasseSalariale() {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Query<BigDecimal> query = session.createQuery(
-                    "SELECT SUM(b.salaireNet) FROM BulletinPaie b", BigDecimal.class);
-            BigDecimal result = query.uniqueResult();
-            return result != null ? result : BigDecimal.ZERO;
+            return PayrollSummaryTable.total(session).salaireNet();
         } catch (Exception e) {
-            e.printStackTrace();
-            return BigDecimal.ZERO;
+            throw new ServiceException("Erreur lors du calcul de la masse salariale", e);
         }
     }
 
@@ -327,8 +671,7 @@ public class BulletinPaieService {
             query.setParameter("empId", employeId);
             return query.uniqueResult();
         } catch (Exception e) {
-            e.printStackTrace();
-            return 0;
+            throw new ServiceException("Erreur lors du comptage des bulletins de l'employé", e);
         }
     }
 
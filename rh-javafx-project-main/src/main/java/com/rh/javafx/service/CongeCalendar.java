@@ -0,0 +1,337 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.model.Conge.StatutConge;
+import com.rh.javafx.model.CongeRow;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory interval index over the pending and approved leaves, by employee, by department and overall
+ * Each index is an interval tree: a treap ordered by dateDebut whose nodes keep the latest dateFin below them,
+ * so overlap queries skip the subtrees ending before or starting after the range and only walk the paths
+ * leading to the k matches.
+ * Rejected leaves are not indexed. The calendar stays cold, and callers fall back to the database,
+ * until install() has run. It only follows this client's changes, so it expires MAX_AGE after install()
+ * and callers read the database again until it is rebuilt.
+ */
+class CongeCalendar {
+
+    private static final String SANS_DEPARTEMENT = "";
+    private static final long MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private record Entry(CongeRow row, String departement) {
+    }
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<Integer, IntervalTree> byEmploye = new HashMap<>();
+    private final Map<String, IntervalTree> byDepartement = new HashMap<>();
+    private final IntervalTree all = new IntervalTree();
+
+    private boolean ready;
+    private long installedAt;
+    // Changes made while a build is loading rows, replayed on install
+    private List<Runnable> pendingChanges;
+
+    /**
+     * Built and not yet expired
+     */
+    synchronized boolean isReady() {
+        return ready && System.nanoTime() - installedAt < MAX_AGE_NANOS;
+    }
+
+    /**
+     * Built once but expired, i.e. due for a rebuild
+     */
+    synchronized boolean isExpired() {
+        return ready && !isReady();
+    }
+
+    /**
+     * Start collecting changes for a build, returns false if a build is already running
+     */
+    synchronized boolean beginBuild() {
+        if (pendingChanges != null) {
+            return false;
+        }
+        pendingChanges = new ArrayList<>();
+        return true;
+    }
+
+    /**
+     * Replace the calendar content with the loaded leaves (row and employee department) and mark it ready
+     */
+    synchronized void install(List<CongeRow> rows, Map<Integer, String> departements) {
+        entries.clear();
+        byEmploye.clear();
+        byDepartement.clear();
+        all.clear();
+        rows.forEach(row -> add(row, departements.get(row.employeId())));
+        if (pendingChanges != null) {
+            pendingChanges.forEach(Runnable::run);
+            pendingChanges = null;
+        }
+        ready = true;
+        installedAt = System.nanoTime();
+    }
+
+    synchronized void abortBuild() {
+        pendingChanges = null;
+    }
+
+    /**
+     * Add or replace a leave, a rejected leave is removed
+     */
+    synchronized void put(CongeRow row, String departement) {
+        change(() -> {
+            removeEntry(row.id());
+            add(row, departement);
+        });
+    }
+
+    synchronized void remove(Integer congeId) {
+        change(() -> removeEntry(congeId));
+    }
+
+    /**
+     * Refresh the name and department shown on an employee's leaves
+     */
+    synchronized void updateEmploye(Integer employeId, String nom, String prenom, String departement) {
+        change(() -> {
+            IntervalTree tree = byEmploye.get(employeId);
+            if (tree == null) {
+                return;
+            }
+            for (CongeRow row : tree.overlapping(Long.MIN_VALUE, Long.MAX_VALUE)) {
+                removeEntry(row.id());
+                add(new CongeRow(row.id(), row.employeId(), nom, prenom, row.dateDebut(), row.dateFin(),
+                        row.typeConge(), row.dureeJours(), row.statut()), departement);
+            }
+        });
+    }
+
+    synchronized void removeEmploye(Integer employeId) {
+        change(() -> {
+            IntervalTree tree = byEmploye.get(employeId);
+            if (tree != null) {
+                tree.overlapping(Long.MIN_VALUE, Long.MAX_VALUE).forEach(row -> removeEntry(row.id()));
+            }
+        });
+    }
+
+    /**
+     * Get the leaves sharing at least one day with the range, for one department or all when it is null
+     */
+    synchronized List<CongeRow> overlapping(String departement, LocalDate debut, LocalDate fin) {
+        return overlapping(departement == null ? all : byDepartement.get(departement), debut, fin);
+    }
+
+    /**
+     * Get the approved leaves covering the day, for one department or all when it is null
+     */
+    synchronized List<CongeRow> absents(String departement, LocalDate jour) {
+        List<CongeRow> rows = overlapping(departement, jour, jour);
+        rows.removeIf(row -> row.statut() != StatutConge.APPROUVE);
+        return rows;
+    }
+
+    private static List<CongeRow> overlapping(IntervalTree tree, LocalDate debut, LocalDate fin) {
+        return tree == null ? new ArrayList<>() : tree.overlapping(debut.toEpochDay(), fin.toEpochDay());
+    }
+
+    private void change(Runnable change) {
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+        if (ready) {
+            change.run();
+        }
+    }
+
+    private void add(CongeRow row, String departement) {
+        if (row.statut() == StatutConge.REJETE) {
+            return;
+        }
+        String key = departement == null ? SANS_DEPARTEMENT : departement;
+        entries.put(row.id(), new Entry(row, key));
+        byEmploye.computeIfAbsent(row.employeId(), id -> new IntervalTree()).insert(row);
+        byDepartement.computeIfAbsent(key, name -> new IntervalTree()).insert(row);
+        all.insert(row);
+    }
+
+    private void removeEntry(Integer congeId) {
+        Entry entry = entries.remove(congeId);
+        if (entry == null) {
+            return;
+        }
+        CongeRow row = entry.row();
+        removeFrom(byEmploye, row.employeId(), row);
+        removeFrom(byDepartement, entry.departement(), row);
+        all.delete(row);
+    }
+
+    private static <K> void removeFrom(Map<K, IntervalTree> trees, K key, CongeRow row) {
+        IntervalTree tree = trees.get(key);
+        if (tree != null) {
+            tree.delete(row);
+            if (tree.isEmpty()) {
+                trees.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Treap of leaves keyed by (dateDebut, id), each node augmented with the latest dateFin of its subtree
+     */
+    private static final class IntervalTree {
+
+        private static final class Node {
+            final CongeRow row;
+            final long debut;
+            final long fin;
+            final int priority = ThreadLocalRandom.current().nextInt();
+            long maxFin;
+            Node left;
+            Node right;
+
+            Node(CongeRow row) {
+                this.row = row;
+                this.debut = row.dateDebut().toEpochDay();
+                this.fin = row.dateFin().toEpochDay();
+                this.maxFin = fin;
+            }
+        }
+
+        private Node root;
+
+        boolean isEmpty() {
+            return root == null;
+        }
+
+        void clear() {
+            root = null;
+        }
+
+        void insert(CongeRow row) {
+            root = insert(root, new Node(row));
+        }
+
+        void delete(CongeRow row) {
+            root = delete(root, row.dateDebut().toEpochDay(), row.id());
+        }
+
+        List<CongeRow> overlapping(long debut, long fin) {
+            List<CongeRow> rows = new ArrayList<>();
+            collect(root, debut, fin, rows);
+            return rows;
+        }
+
+        private static void collect(Node node, long debut, long fin, List<CongeRow> rows) {
+            // Nothing below ends on or after the start of the range
+            if (node == null || node.maxFin < debut) {
+                return;
+            }
+            collect(node.left, debut, fin, rows);
+            // The right subtree and this node start after the end of the range
+            if (node.debut > fin) {
+                return;
+            }
+            if (node.fin >= debut) {
+                rows.add(node.row);
+            }
+            collect(node.right, debut, fin, rows);
+        }
+
+        private static Node insert(Node node, Node added) {
+            if (node == null) {
+                return added;
+            }
+            if (compare(added.debut, added.row.id(), node) < 0) {
+                node.left = insert(node.left, added);
+                if (node.left.priority > node.priority) {
+                    node = rotateRight(node);
+                }
+            } else {
+                node.right = insert(node.right, added);
+                if (node.right.priority > node.priority) {
+                    node = rotateLeft(node);
+                }
+            }
+            update(node);
+            return node;
+        }
+
+        private static Node delete(Node node, long debut, Integer id) {
+            if (node == null) {
+                return null;
+            }
+            int cmp = compare(debut, id, node);
+            if (cmp < 0) {
+                node.left = delete(node.left, debut, id);
+            } else if (cmp > 0) {
+                node.right = delete(node.right, debut, id);
+            } else {
+                return merge(node.left, node.right);
+            }
+            update(node);
+            return node;
+        }
+
+        // Join two treaps whose keys are all ordered left before right
+        private static Node merge(Node left, Node right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            if (left.priority > right.priority) {
+                left.right = merge(left.right, right);
+                update(left);
+                return left;
+            }
+            right.left = merge(left, right.left);
+            update(right);
+            return right;
+        }
+
+        private static Node rotateRight(Node node) {
+            Node pivot = node.left;
+            node.left = pivot.right;
+            pivot.right = node;
+            update(node);
+            update(pivot);
+            return pivot;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node pivot = node.right;
+            node.right = pivot.left;
+            pivot.left = node;
+            update(node);
+            update(pivot);
+            return pivot;
+        }
+
+        private static void update(Node node) {
+            long maxFin = node.fin;
+            if (node.left != null) {
+                maxFin = Math.max(maxFin, node.left.maxFin);
+            }
+            if (node.right != null) {
+                maxFin = Math.max(maxFin, node.right.maxFin);
+            }
+            node.maxFin = maxFin;
+        }
+
+        private static int compare(long debut, Integer id, Node node) {
+            int cmp = Long.compare(debut, node.debut);
+            return cmp != 0 ? cmp : id.compareTo(node.row.id());
+        }
+    }
+}
@@ -2,13 +2,23 @@ package com.rh.javafx.service;
 
 import com.rh.javafx.model.Conge;
 import com.rh.javafx.model.Conge.StatutConge;
+import com.rh.javafx.model.CongeRow;
 import com.rh.javafx.model.Employe;
 import com.rh.javafx.util.HibernateUtil;
+import com.rh.javafx.util.ServiceExecutor;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -18,17 +28,36 @@ import java.util.stream.Collectors;
  */
 public class CongeService {
 
+    private static final String CONGE_ROW_SELECT =
+            "SELECT new com.rh.javafx.model.CongeRow(c.id, e.id, e.nom, e.prenom, c.dateDebut, c.dateFin, " +
+                    "c.typeConge, c.dureeJours, c.statut) FROM Conge c JOIN c.employe e";
+
+    // Shared by all service instances, cold until warmCalendar() has run and again once it has expired
+    private static final CongeCalendar calendar = new CongeCalendar();
+
     private final EmployeService employeService = new EmployeService();
 
     /**
-     * Request a new leave
+     * Outcome of one leave in a bulk approval or rejection, conge is null when it was not processed
      */
-    public void demanderConge(Integer employeId, LocalDate dateDebut, LocalDate dateFin, String typeConge, String motif) {
+    public record DecisionOutcome(Integer congeId, Conge conge, String erreur) {
+
+        public boolean isSuccess() {
+            return erreur == null;
+        }
+    }
+
+    /**
+     * Request a new leave and return it
+     */
+    public Conge demanderConge(Integer employeId, LocalDate dateDebut, LocalDate dateFin, String typeConge, String motif) {
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
 
-            Employe employe = session.get(Employe.class, employeId);
+            // Locked before anything is read: two requests of the same employee are checked one at a time,
+            // each seeing the leaves the other committed
+            Employe employe = session.find(Employe.class, employeId, LockModeType.PESSIMISTIC_WRITE);
             if (employe == null) {
                 throw new RuntimeException("Employé non trouvé");
             }
@@ -37,32 +66,44 @@ public class CongeService {
             conge.setMotif(motif);
 
             int duree = conge.calculerDuree();
+            if (duree == 0) {
+                throw new RuntimeException("La période demandée ne contient aucun jour ouvré");
+            }
             if (duree > employe.getJoursCongesRestants()) {
                 throw new RuntimeException("Solde de congés insuffisant. Disponible: " +
                         employe.getJoursCongesRestants() + " jours, Demandé: " + duree + " jours");
             }
+            checkNoOverlap(session, employeId, dateDebut, dateFin, null);
 
             session.save(conge);
             transaction.commit();
+            DashboardStatsService.invalidate();
+            calendar.put(CongeRow.of(conge), employe.getDepartement());
             System.out.println("Demande de congé créée pour: " + employe.getNomComplet());
+            return conge;
         } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la demande de congé", e);
+            HibernateUtil.rollback(transaction, e);
+            throw new ServiceException("Erreur lors de la demande de congé", e);
         }
     }
 
     /**
-     * Approve a leave request
+     * Approve a leave request and return it, with its employee's updated balance
      */
-    public void approuverConge(Integer congeId) {
+    public Conge approuverConge(Integer congeId) {
+        try {
+            return HibernateUtil.retryOnConflict(() -> doApprouverConge(congeId));
+        } catch (RuntimeException e) {
+            throw new ServiceException("Erreur lors de l'approbation du congé", e);
+        }
+    }
+
+    private Conge doApprouverConge(Integer congeId) {
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
 
-            Conge conge = session.get(Conge.class, congeId);
+            Conge conge = session.find(Conge.class, congeId, HibernateUtil.fetchGraph(session, Conge.GRAPH_EMPLOYE));
             if (conge == null) {
                 throw new RuntimeException("Congé non trouvé");
             }
@@ -74,36 +115,47 @@ public class CongeService {
             Employe employe = conge.getEmploye();
             int duree = conge.getDureeJours();
 
-            if (duree > employe.getJoursCongesRestants()) {
-                throw new RuntimeException("Solde de congés insuffisant");
+            // The balance is read under the employee's row lock, so concurrent approvals cannot overdraw it;
+            // a concurrent decision on the leave itself fails on its version at commit
+            lockEmploye(session, employe);
+            int solde = employe.getJoursCongesRestants();
+            if (duree > solde) {
+                throw new RuntimeException("Solde de congés insuffisant. Disponible: " + solde +
+                        " jours, Demandé: " + duree + " jours");
             }
-
+            employe.setJoursCongesRestants(solde - duree);
             conge.setStatut(StatutConge.APPROUVE);
-            employe.setJoursCongesRestants(employe.getJoursCongesRestants() - duree);
 
-            session.update(conge);
-            session.update(employe);
             transaction.commit();
+            DashboardStatsService.invalidate();
+            employeService.indexEmploye(employe);
+            calendar.put(CongeRow.of(conge), employe.getDepartement());
 
             System.out.println("Congé approuvé pour: " + employe.getNomComplet());
-        } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de l'approbation du congé", e);
+            return conge;
+        } catch (RuntimeException e) {
+            HibernateUtil.rollback(transaction, e);
+            throw e;
         }
     }
 
     /**
-     * Reject a leave request
+     * Reject a leave request and return it
      */
-    public void rejeterConge(Integer congeId, String motifRejet) {
+    public Conge rejeterConge(Integer congeId, String motifRejet) {
+        try {
+            return HibernateUtil.retryOnConflict(() -> doRejeterConge(congeId, motifRejet));
+        } catch (RuntimeException e) {
+            throw new ServiceException("Erreur lors du rejet du congé", e);
+        }
+    }
+
+    private Conge doRejeterConge(Integer congeId, String motifRejet) {
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
 
-            Conge conge = session.get(Conge.class, congeId);
+            Conge conge = session.find(Conge.class, congeId, HibernateUtil.fetchGraph(session, Conge.GRAPH_EMPLOYE));
             if (conge == null) {
                 throw new RuntimeException("Congé non trouvé");
             }
@@ -117,17 +169,281 @@ public class CongeService {
 
             session.update(conge);
             transaction.commit();
+            DashboardStatsService.invalidate();
+            calendar.remove(congeId);
 
             System.out.println("Congé rejeté pour: " + conge.getEmploye().getNomComplet());
+            return conge;
+        } catch (RuntimeException e) {
+            HibernateUtil.rollback(transaction, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Approve many leave requests in one transaction and return the outcome of each, in the given order
+     * Each employee's leaves are taken in date order and approved while the remaining balance covers them.
+     */
+    public List<DecisionOutcome> approuverConges(Collection<Integer> congeIds) {
+        try {
+            return HibernateUtil.retryOnConflict(() -> doApprouverConges(congeIds));
+        } catch (RuntimeException e) {
+            throw new ServiceException("Erreur lors de l'approbation des congés", e);
+        }
+    }
+
+    private List<DecisionOutcome> doApprouverConges(Collection<Integer> congeIds) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            // Before the leaves are read, so that the balances below are the committed ones
+            lockEmployes(session, congeIds);
+
+            Map<Integer, DecisionOutcome> outcomes = new HashMap<>();
+            Map<Integer, List<Conge>> pendingByEmploye = new LinkedHashMap<>();
+            for (Conge conge : getPendingConges(session, congeIds, outcomes)) {
+                pendingByEmploye.computeIfAbsent(conge.getEmploye().getId(), id -> new ArrayList<>()).add(conge);
+            }
+
+            List<Employe> changedEmployes = new ArrayList<>();
+            List<Conge> approved = new ArrayList<>();
+            for (List<Conge> pending : pendingByEmploye.values()) {
+                pending.sort(Comparator.comparing(Conge::getDateDebut).thenComparing(Conge::getId));
+                Employe employe = pending.get(0).getEmploye();
+                int solde = employe.getJoursCongesRestants();
+                for (Conge conge : pending) {
+                    int duree = conge.getDureeJours();
+                    if (duree > solde) {
+                        outcomes.put(conge.getId(), new DecisionOutcome(conge.getId(), null,
+                                "Solde de congés insuffisant. Disponible: " + solde + " jours, Demandé: " + duree + " jours"));
+                        continue;
+                    }
+                    solde -= duree;
+                    conge.setStatut(StatutConge.APPROUVE);
+                    approved.add(conge);
+                    outcomes.put(conge.getId(), new DecisionOutcome(conge.getId(), conge, null));
+                }
+                if (solde != employe.getJoursCongesRestants()) {
+                    employe.setJoursCongesRestants(solde);
+                    changedEmployes.add(employe);
+                }
+            }
+
+            // The changed entities are flushed on commit, as batched UPDATE statements checking their version
+            transaction.commit();
+            DashboardStatsService.invalidate();
+            changedEmployes.forEach(employeService::indexEmploye);
+            approved.forEach(conge -> calendar.put(CongeRow.of(conge), conge.getEmploye().getDepartement()));
+
+            List<DecisionOutcome> results = inRequestOrder(congeIds, outcomes);
+            System.out.println("Congés approuvés: " + results.stream().filter(DecisionOutcome::isSuccess).count()
+                    + "/" + results.size());
+            return results;
+        } catch (RuntimeException e) {
+            HibernateUtil.rollback(transaction, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Reject many leave requests in one transaction and return the outcome of each, in the given order
+     */
+    public List<DecisionOutcome> rejeterConges(Collection<Integer> congeIds, String motifRejet) {
+        try {
+            return HibernateUtil.retryOnConflict(() -> doRejeterConges(congeIds, motifRejet));
+        } catch (RuntimeException e) {
+            throw new ServiceException("Erreur lors du rejet des congés", e);
+        }
+    }
+
+    private List<DecisionOutcome> doRejeterConges(Collection<Integer> congeIds, String motifRejet) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+
+            Map<Integer, DecisionOutcome> outcomes = new HashMap<>();
+            List<Conge> rejected = getPendingConges(session, congeIds, outcomes);
+            for (Conge conge : rejected) {
+                conge.setStatut(StatutConge.REJETE);
+                conge.setMotif(conge.getMotif() + " | Motif de rejet: " + motifRejet);
+                outcomes.put(conge.getId(), new DecisionOutcome(conge.getId(), conge, null));
+            }
+
+            // The changed entities are flushed on commit, as batched UPDATE statements checking their version
+            transaction.commit();
+            DashboardStatsService.invalidate();
+            rejected.forEach(conge -> calendar.remove(conge.getId()));
+
+            List<DecisionOutcome> results = inRequestOrder(congeIds, outcomes);
+            System.out.println("Congés rejetés: " + results.stream().filter(DecisionOutcome::isSuccess).count()
+                    + "/" + results.size());
+            return results;
+        } catch (RuntimeException e) {
+            HibernateUtil.rollback(transaction, e);
+            throw e;
+        }
+    }
+
+    // Load the leaves with their employees in one query; records a failure for each id that is missing or processed
+    private List<Conge> getPendingConges(Session session, Collection<Integer> congeIds,
+                                         Map<Integer, DecisionOutcome> outcomes) {
+        Map<Integer, Conge> conges = new HashMap<>();
+        if (!congeIds.isEmpty()) {
+            Query<Conge> query = session.createQuery(
+                    "FROM Conge c JOIN FETCH c.employe WHERE c.id IN (:ids)", Conge.class);
+            query.setParameterList("ids", congeIds);
+            query.list().forEach(conge -> conges.put(conge.getId(), conge));
+        }
+
+        List<Conge> pending = new ArrayList<>();
+        for (Integer id : new LinkedHashSet<>(congeIds)) {
+            Conge conge = conges.get(id);
+            if (conge == null) {
+                outcomes.put(id, new DecisionOutcome(id, null, "Congé non trouvé"));
+            } else if (conge.getStatut() != StatutConge.EN_ATTENTE) {
+                outcomes.put(id, new DecisionOutcome(id, null, "Ce congé a déjà été traité"));
+            } else {
+                pending.add(conge);
+            }
+        }
+        return pending;
+    }
+
+    // Re-read the employee with a row lock held until commit: balance changes of one employee run one at a time.
+    // The balance is then changed on the entity, which updates only its own second-level cache entry.
+    private static void lockEmploye(Session session, Employe employe) {
+        session.refresh(employe, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    // Same as lockEmploye() for the employees of the given leaves, in one query and in id order
+    private static void lockEmployes(Session session, Collection<Integer> congeIds) {
+        if (congeIds.isEmpty()) {
+            return;
+        }
+        session.createQuery("FROM Employe e WHERE e.id IN " +
+                        "(SELECT c.employe.id FROM Conge c WHERE c.id IN (:ids)) ORDER BY e.id", Employe.class)
+                .setParameterList("ids", congeIds)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .list();
+    }
+
+    private static List<DecisionOutcome> inRequestOrder(Collection<Integer> congeIds,
+                                                        Map<Integer, DecisionOutcome> outcomes) {
+        return new LinkedHashSet<>(congeIds).stream()
+                .map(outcomes::get)
+                .collect(Collectors.toList());
+    }
+
+    // Pending and approved leaves of the employee cannot share a day; excludedId is the leave being edited.
+    // Always read from the database (idx_conge_employe_date_debut): the calendar misses other clients' changes.
+    private void checkNoOverlap(Session session, Integer employeId, LocalDate dateDebut, LocalDate dateFin,
+                                Integer excludedId) {
+        Query<CongeRow> query = session.createQuery(CONGE_ROW_SELECT +
+                " WHERE e.id = :empId AND c.dateDebut <= :fin AND c.dateFin >= :debut AND c.statut <> :rejete" +
+                (excludedId != null ? " AND c.id <> :excludedId" : "") +
+                " ORDER BY c.dateDebut", CongeRow.class);
+        query.setParameter("empId", employeId);
+        query.setParameter("rejete", StatutConge.REJETE);
+        query.setParameter("debut", dateDebut);
+        query.setParameter("fin", dateFin);
+        if (excludedId != null) {
+            query.setParameter("excludedId", excludedId);
+        }
+        List<CongeRow> overlapping = query.setMaxResults(1).list();
+        if (!overlapping.isEmpty()) {
+            CongeRow existing = overlapping.get(0);
+            throw new RuntimeException("Ce congé chevauche le congé " + existing.statut().getLabel().toLowerCase() +
+                    " du " + existing.dateDebut() + " au " + existing.dateFin());
+        }
+    }
+
+    /**
+     * Build the in-memory leave calendar if it is still cold
+     */
+    public void warmCalendar() {
+        if (calendar.isReady() || !calendar.beginBuild()) {
+            return;
+        }
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Map<Integer, String> departements = new HashMap<>();
+            session.createQuery("SELECT e.id, e.departement FROM Employe e", Object[].class).list()
+                    .forEach(tuple -> departements.put((Integer) tuple[0], (String) tuple[1]));
+
+            Query<CongeRow> query = session.createQuery(CONGE_ROW_SELECT + " WHERE c.statut <> :rejete", CongeRow.class);
+            query.setParameter("rejete", StatutConge.REJETE);
+            List<CongeRow> rows = query.list();
+            calendar.install(rows, departements);
+            System.out.println("Calendrier des congés construit: " + rows.size() + " congés");
         } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
+            calendar.abortBuild();
+            throw new ServiceException("Erreur lors de la construction du calendrier des congés", e);
+        }
+    }
+
+    // Rebuild an expired calendar in the background; until it is installed, reads go to the database
+    private void reloadCalendarIfExpired() {
+        if (calendar.isExpired()) {
+            ServiceExecutor.run(this::warmCalendar).exceptionally(e -> {
+                System.err.println("Erreur lors du rechargement du calendrier des congés: " +
+                        ServiceException.from(e).getReason());
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Refresh an employee's leaves in the calendar after the employee was saved
+     */
+    static void updateCalendarEmploye(Employe employe) {
+        calendar.updateEmploye(employe.getId(), employe.getNom(), employe.getPrenom(), employe.getDepartement());
+    }
+
+    /**
+     * Drop a deleted employee's leaves from the calendar
+     */
+    static void removeCalendarEmploye(Integer employeId) {
+        calendar.removeEmploye(employeId);
+    }
+
+    /**
+     * Get the pending and approved leaves sharing at least one day with a date range, in dateDebut order
+     * Pass a null department for all employees.
+     */
+    public List<CongeRow> getCongesOverlapping(String departement, LocalDate startDate, LocalDate endDate) {
+        if (calendar.isReady()) {
+            return calendar.overlapping(departement, startDate, endDate);
+        }
+        reloadCalendarIfExpired();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<CongeRow> query = session.createQuery(CONGE_ROW_SELECT +
+                    " WHERE c.statut <> :rejete AND c.dateDebut <= :endDate AND c.dateFin >= :startDate" +
+                    (departement != null ? " AND e.departement = :dept" : "") +
+                    " ORDER BY c.dateDebut, c.id", CongeRow.class);
+            query.setParameter("rejete", StatutConge.REJETE);
+            query.setParameter("startDate", startDate);
+            query.setParameter("endDate", endDate);
+            if (departement != null) {
+                query.setParameter("dept", departement);
             }
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors du rejet du congé", e);
+            return query.list();
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors de la récupération des congés par date", e);
         }
     }
 
+    /**
+     * Get the approved leaves of the employees absent on a day, for one department or all when it is null
+     */
+    public List<CongeRow> getAbsences(String departement, LocalDate date) {
+        if (calendar.isReady()) {
+            return calendar.absents(departement, date);
+        }
+        // Expired calendars are reloaded by getCongesOverlapping()
+        List<CongeRow> rows = getCongesOverlapping(departement, date, date);
+        rows.removeIf(row -> row.statut() != StatutConge.APPROUVE);
+        return rows;
+    }
+
     /**
      * Get all leaves
      */
@@ -137,8 +453,51 @@ public class CongeService {
                     "FROM Conge c JOIN FETCH c.employe ORDER BY c.dateDebut DESC", Conge.class);
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des congés", e);
+            throw new ServiceException("Erreur lors de la récupération des congés", e);
+        }
+    }
+
+    /**
+     * Get a leave by ID, with its employee
+     */
+    public Conge getCongeById(Integer id) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Conge> query = session.createQuery(
+                    "FROM Conge c JOIN FETCH c.employe WHERE c.id = :id", Conge.class);
+            query.setParameter("id", id);
+            return query.uniqueResult();
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors de la récupération du congé", e);
+        }
+    }
+
+    /**
+     * Get a page of leave rows ordered by (dateDebut, id) descending, starting after the given row
+     * Pass a null status for all leaves and a null row to get the first page
+     */
+    public List<CongeRow> getCongesPage(StatutConge statut, CongeRow after, int pageSize) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            StringBuilder hql = new StringBuilder(CONGE_ROW_SELECT + " WHERE 1 = 1");
+            if (statut != null) {
+                hql.append(" AND c.statut = :statut");
+            }
+            if (after != null) {
+                hql.append(" AND (c.dateDebut < :dateDebut OR (c.dateDebut = :dateDebut AND c.id < :id))");
+            }
+            hql.append(" ORDER BY c.dateDebut DESC, c.id DESC");
+
+            Query<CongeRow> query = session.createQuery(hql.toString(), CongeRow.class);
+            if (statut != null) {
+                query.setParameter("statut", statut);
+            }
+            if (after != null) {
+                query.setParameter("dateDebut", after.dateDebut());
+                query.setParameter("id", after.id());
+            }
+            query.setMaxResults(pageSize);
+            return query.list();
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors de la récupération des congés", e);
         }
     }
 
@@ -153,8 +512,7 @@ public class CongeService {
             query.setParameter("statut", StatutConge.EN_ATTENTE);
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des congés en attente", e);
+            throw new ServiceException("Erreur lors de la récupération des congés en attente", e);
         }
     }
 
@@ -166,10 +524,10 @@ public class CongeService {
             Query<Conge> query = session.createQuery(
                     "FROM Conge c WHERE c.employe.id = :empId ORDER BY c.dateDebut DESC", Conge.class);
             query.setParameter("empId", employeId);
+            query.applyFetchGraph(session.getEntityGraph(Conge.GRAPH_EMPLOYE));
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des congés", e);
+            throw new ServiceException("Erreur lors de la récupération des congés", e);
         }
     }
 
@@ -184,8 +542,7 @@ public class CongeService {
             query.setParameter("statut", statut);
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des congés", e);
+            throw new ServiceException("Erreur lors de la récupération des congés", e);
         }
     }
 
@@ -193,29 +550,44 @@ public class CongeService {
      * Delete a leave request
      */
     public void deleteConge(Integer congeId) {
+        try {
+            HibernateUtil.retryOnConflict(() -> {
+                doDeleteConge(congeId);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            throw new ServiceException("Erreur lors de la suppression du congé", e);
+        }
+    }
+
+    private void doDeleteConge(Integer congeId) {
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
 
-            Conge conge = session.get(Conge.class, congeId);
+            Employe restoredEmploye = null;
+            Conge conge = session.find(Conge.class, congeId, HibernateUtil.fetchGraph(session, Conge.GRAPH_EMPLOYE));
             if (conge != null) {
-                // If the leave was approved, restore the days
+                // If the leave was approved, restore the days under the employee's row lock, as in approuverConge;
+                // a concurrent delete fails on the leave's version
                 if (conge.getStatut() == StatutConge.APPROUVE) {
                     Employe employe = conge.getEmploye();
-                    employe.setJoursCongesRestants(
-                            employe.getJoursCongesRestants() + conge.getDureeJours());
-                    session.update(employe);
+                    lockEmploye(session, employe);
+                    employe.setJoursCongesRestants(employe.getJoursCongesRestants() + conge.getDureeJours());
+                    restoredEmploye = employe;
                 }
                 session.delete(conge);
                 System.out.println("Congé supprimé");
             }
             transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
+            DashboardStatsService.invalidate();
+            calendar.remove(congeId);
+            if (restoredEmploye != null) {
+                employeService.indexEmploye(restoredEmploye);
             }
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la suppression du congé", e);
+        } catch (RuntimeException e) {
+            HibernateUtil.rollback(transaction, e);
+            throw e;
         }
     }
 
@@ -229,20 +601,30 @@ public class CongeService {
             query.setParameter("statut", StatutConge.EN_ATTENTE);
             return query.uniqueResult();
         } catch (Exception e) {
-            e.printStackTrace();
-            return 0;
+            throw new ServiceException("Erreur lors du comptage des congés en attente", e);
         }
     }
 
     /**
-     * Update an existing leave request
+     * Update an existing leave request and return the saved leave
      */
-    public void updateConge(Conge conge) {
+    public Conge updateConge(Conge conge) {
+        try {
+            return HibernateUtil.retryOnConflict(() -> doUpdateConge(conge));
+        } catch (RuntimeException e) {
+            throw new ServiceException("Erreur lors de la mise à jour du congé", e);
+        }
+    }
+
+    private Conge doUpdateConge(Conge conge) {
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
+            // Same as in demanderConge(): the overlap check runs under the employee's row lock
+            lockEmployes(session, List.of(conge.getId()));
 
-            Conge existingConge = session.get(Conge.class, conge.getId());
+            Conge existingConge = session.find(Conge.class, conge.getId(),
+                    HibernateUtil.fetchGraph(session, Conge.GRAPH_EMPLOYE));
             if (existingConge == null) {
                 throw new RuntimeException("Congé non trouvé");
             }
@@ -252,22 +634,29 @@ public class CongeService {
                 throw new RuntimeException("Seuls les congés en attente peuvent être modifiés");
             }
 
+            int duree = conge.calculerDuree();
+            if (duree == 0) {
+                throw new RuntimeException("La période demandée ne contient aucun jour ouvré");
+            }
+            checkNoOverlap(session, existingConge.getEmploye().getId(), conge.getDateDebut(), conge.getDateFin(),
+                    existingConge.getId());
+
             existingConge.setDateDebut(conge.getDateDebut());
             existingConge.setDateFin(conge.getDateFin());
             existingConge.setTypeConge(conge.getTypeConge());
             existingConge.setMotif(conge.getMotif());
-            existingConge.setDureeJours(conge.calculerDuree());
+            existingConge.setDureeJours(duree);
 
             session.update(existingConge);
             transaction.commit();
+            DashboardStatsService.invalidate();
+            calendar.put(CongeRow.of(existingConge), existingConge.getEmploye().getDepartement());
 
             System.out.println("Congé mis à jour pour: " + existingConge.getEmploye().getNomComplet());
-        } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la mise à jour du congé", e);
+            return existingConge;
+        } catch (RuntimeException e) {
+            HibernateUtil.rollback(transaction, e);
+            throw e;
         }
     }
 
@@ -275,51 +664,79 @@ public class CongeService {
      * Get total approved leave days
      */
     public int getTotalJoursConge() {
-        List<Conge> conges = getAllConges();
-        return conges.stream()
-                .filter(c -> c.getStatut() == StatutConge.APPROUVE)
-                .mapToInt(Conge::getDureeJours)
-                .sum();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Long> query = session.createQuery(
+                    "SELECT COALESCE(SUM(c.dureeJours), 0) FROM Conge c WHERE c.statut = :statut", Long.class);
+            query.setParameter("statut", StatutConge.APPROUVE);
+            return query.uniqueResult().intValue();
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors du calcul des jours de congé", e);
+        }
     }
 
     /**
-     * Get average leave duration
+     * Get average approved leave duration
      */
     public double getAverageDureeConge() {
-        List<Conge> conges = getAllConges();
-        return conges.stream()
-                .filter(c -> c.getStatut() == StatutConge.APPROUVE)
-                .mapToInt(Conge::getDureeJours)
-                .average()
-                .orElse(0.0);
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Double> query = session.createQuery(
+                    "SELECT AVG(c.dureeJours) FROM Conge c WHERE c.statut = :statut", Double.class);
+            query.setParameter("statut", StatutConge.APPROUVE);
+            Double result = query.uniqueResult();
+            return result != null ? result : 0.0;
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors du calcul de la durée moyenne des congés", e);
+        }
     }
 
     /**
      * Get count of leaves grouped by type
      */
     public Map<String, Long> getCongesCountByType() {
-        List<Conge> conges = getAllConges();
-        return conges.stream()
-                .collect(Collectors.groupingBy(
-                        Conge::getTypeConge,
-                        Collectors.counting()
-                ));
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            session.createQuery(
+                            "SELECT c.typeConge, COUNT(c) FROM Conge c GROUP BY c.typeConge ORDER BY c.typeConge",
+                            Object[].class)
+                    .list()
+                    .forEach(row -> counts.put((String) row[0], (Long) row[1]));
+            return counts;
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors du décompte des congés par type", e);
+        }
     }
 
     /**
-     * Get leaves within a date range
+     * Get count of leaves for each status, statuses without leaves count 0
+     */
+    public Map<StatutConge, Long> getCongesCountByStatut() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Map<StatutConge, Long> counts = new EnumMap<>(StatutConge.class);
+            for (StatutConge statut : StatutConge.values()) {
+                counts.put(statut, 0L);
+            }
+            session.createQuery("SELECT c.statut, COUNT(c) FROM Conge c GROUP BY c.statut", Object[].class)
+                    .list()
+                    .forEach(row -> counts.put((StatutConge) row[0], (Long) row[1]));
+            return counts;
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors du décompte des congés par statut", e);
+        }
+    }
+
+    /**
+     * Get leaves sharing at least one day with a date range
      */
     public List<Conge> getCongesByDateRange(LocalDate startDate, LocalDate endDate) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Conge> query = session.createQuery(
-                    "FROM Conge c JOIN FETCH c.employe WHERE c.dateDebut >= :startDate AND c.dateFin <= :endDate ORDER BY c.dateDebut",
+                    "FROM Conge c JOIN FETCH c.employe WHERE c.dateDebut <= :endDate AND c.dateFin >= :startDate ORDER BY c.dateDebut",
                     Conge.class);
             query.setParameter("startDate", startDate);
             query.setParameter("endDate", endDate);
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des congés par date", e);
+            throw new ServiceException("Erreur lors de la récupération des congés par date", e);
         }
     }
 
@@ -333,27 +750,34 @@ public class CongeService {
             query.setParameter("statut", StatutConge.APPROUVE);
             return query.uniqueResult();
         } catch (Exception e) {
-            e.printStackTrace();
-            return 0;
+            throw new ServiceException("Erreur lors du comptage des congés approuvés", e);
         }
     }
 
     /**
-     * Get leaves grouped by status
+     * Get leave rows grouped by status, each group ordered by dateDebut descending
      */
-    public Map<StatutConge, List<Conge>> getCongesGroupedByStatut() {
-        List<Conge> conges = getAllConges();
-        return conges.stream()
-                .collect(Collectors.groupingBy(Conge::getStatut));
+    public Map<StatutConge, List<CongeRow>> getCongesGroupedByStatut() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Map<StatutConge, List<CongeRow>> groups = new EnumMap<>(StatutConge.class);
+            session.createQuery(CONGE_ROW_SELECT + " ORDER BY c.dateDebut DESC, c.id DESC", CongeRow.class)
+                    .list()
+                    .forEach(row -> groups.computeIfAbsent(row.statut(), statut -> new ArrayList<>()).add(row));
+            return groups;
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors de la récupération des congés", e);
+        }
     }
 
     /**
-     * Get leaves ordered by date
+     * Get leave rows ordered by date
      */
-    public List<Conge> getCongesOrderedByDate() {
-        return getAllConges().stream()
-                .sorted((c1, c2) -> c1.getDateDebut().compareTo(c2.getDateDebut()))
-                .collect(Collectors.toList());
+    public List<CongeRow> getCongesOrderedByDate() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(CONGE_ROW_SELECT + " ORDER BY c.dateDebut, c.id", CongeRow.class).list();
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors de la récupération des congés", e);
+        }
     }
 
     /**
@@ -367,8 +791,7 @@ public class CongeService {
             query.setParameter("type", typeConge);
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des congés par type", e);
+            throw new ServiceException("Erreur lors de la récupération des congés par type", e);
         }
     }
 }
@@ -0,0 +1,152 @@
+package com.rh.javafx.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming CSV parser, one record at a time; quoted fields may hold separators, doubled quotes and line breaks
+ * The separator is ';' or ',', whichever the header line holds most, and a leading byte order mark is skipped,
+ * so files from the exports and from a spreadsheet saved in English or French are both read.
+ */
+class CsvRecordReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private char separator = ';';
+    private int pending = NONE;
+    private long line = 1;
+    private long recordLine;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the header record, picking the separator from it
+     */
+    List<String> readHeader() throws IOException {
+        StringBuilder header = new StringBuilder();
+        int c = read();
+        if (c == '\uFEFF') {
+            c = read();
+        }
+        while (c != -1 && c != '\n' && c != '\r') {
+            header.append((char) c);
+            c = read();
+        }
+        String text = header.toString();
+        separator = count(text, ',') > count(text, ';') ? ',' : ';';
+        recordLine = line;
+        unread(c);
+
+        List<String> names = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == separator) {
+                names.add(unquote(text.substring(start, i).trim()));
+                start = i + 1;
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Read the next record, null at the end of the input; blank lines are skipped
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        while (c == '\n' || c == '\r') {
+            endOfLine(c);
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Guillemet non fermé dans l'enregistrement de la ligne " + recordLine);
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n' || c == '\r') {
+                    endOfLine(c);
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                fields.add(field.toString());
+                unread(c);
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Line of the file on which the last record read starts, from 1
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    // Counts a line break; the \r of a \r\n pair is left to the \n
+    private void endOfLine(int c) throws IOException {
+        if (c == '\n') {
+            line++;
+        } else {
+            int next = read();
+            unread(next);
+            if (next != '\n') {
+                line++;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != NONE) {
+            int c = pending;
+            pending = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+
+    private static String unquote(String name) {
+        if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\"")) {
+            return name.substring(1, name.length() - 1).replace("\"\"", "\"");
+        }
+        return name;
+    }
+
+    private static int count(String text, char c) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,72 @@
+package com.rh.javafx.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * CSV export in UTF-8 with a byte order mark, ';' separators and ',' decimals, the format Excel opens
+ * directly in French
+ */
+class CsvTableWriter implements TableWriter {
+
+    private static final char SEPARATOR = ';';
+    private static final char DECIMAL_SEPARATOR = ',';
+
+    private final Writer writer;
+
+    CsvTableWriter(OutputStream out, List<String> headers) throws IOException {
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write('\uFEFF');
+        writeRow(headers.toArray());
+    }
+
+    @Override
+    public void writeRow(Object[] cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writeCell(cells[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCell(Object cell) throws IOException {
+        if (cell == null) {
+            return;
+        }
+        // French Excel reads '.' decimals as text
+        if (cell instanceof BigDecimal amount) {
+            writer.write(amount.toPlainString().replace('.', DECIMAL_SEPARATOR));
+            return;
+        }
+        if (cell instanceof Number || cell instanceof Enum<?>) {
+            writer.write(cell.toString());
+            return;
+        }
+        String text = cell.toString();
+        // Text starting like a formula would be evaluated by the spreadsheet
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(SEPARATOR) >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                || text.indexOf('\r') >= 0) {
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(text);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
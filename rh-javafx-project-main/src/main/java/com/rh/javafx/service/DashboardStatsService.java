@@ -0,0 +1,94 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.model.Conge.StatutConge;
+import com.rh.javafx.util.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service class for the dashboard KPI tiles
+ * All statistics are read in a single round trip and cached for a short time
+ */
+public class DashboardStatsService {
+
+    private static final Duration TTL = Duration.ofSeconds(5);
+
+    private static final AtomicReference<CachedStats> cache = new AtomicReference<>();
+    // Bumped by invalidate(), so that statistics read before a change are never served after it
+    private static final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Immutable snapshot of the dashboard statistics
+     */
+    public record DashboardStats(long totalEmployes, long pendingConges, long totalBulletins,
+                                 BigDecimal averageSalary) {
+    }
+
+    private record CachedStats(DashboardStats stats, long loadedAtNanos, long generation) {
+
+        boolean isFresh() {
+            return generation == DashboardStatsService.generation.get()
+                    && System.nanoTime() - loadedAtNanos < TTL.toNanos();
+        }
+    }
+
+    /**
+     * Get the dashboard statistics, from the cache when still fresh
+     */
+    public DashboardStats getStats() {
+        CachedStats cached = cache.get();
+        if (cached != null && cached.isFresh()) {
+            return cached.stats();
+        }
+        return refresh();
+    }
+
+    /**
+     * Reload the dashboard statistics from the database
+     */
+    public DashboardStats refresh() {
+        CachedStats previous = cache.get();
+        long loadedGeneration = generation.get();
+        DashboardStats stats = loadStats();
+        // Tagged with the generation seen before the query: an invalidate() during the load makes it stale
+        cache.compareAndSet(previous, new CachedStats(stats, System.nanoTime(), loadedGeneration));
+        return stats;
+    }
+
+    /**
+     * Drop the cached statistics so the next read goes to the database
+     */
+    public static void invalidate() {
+        generation.incrementAndGet();
+        cache.set(null);
+    }
+
+    private DashboardStats loadStats() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            NativeQuery<?> query = session.createNativeQuery(
+                    "SELECT COUNT(*), AVG(e.salaire_base), " +
+                            "(SELECT COUNT(*) FROM conge c WHERE c.statut = :statut), " +
+                            "(SELECT COALESCE(SUM(s.nombre_bulletins), 0) FROM payroll_period_summary s) " +
+                            "FROM employe e");
+            query.setParameter("statut", StatutConge.EN_ATTENTE.name());
+            Object[] row = (Object[]) query.uniqueResult();
+
+            BigDecimal averageSalary = row[1] != null
+                    ? new BigDecimal(row[1].toString()).setScale(2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO;
+            return new DashboardStats(
+                    ((Number) row[0]).longValue(),
+                    ((Number) row[2]).longValue(),
+                    ((Number) row[3]).longValue(),
+                    averageSalary);
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors du chargement des statistiques", e);
+        }
+    }
+}
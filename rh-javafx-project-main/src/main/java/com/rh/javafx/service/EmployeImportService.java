@@ -0,0 +1,562 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.model.EmployeRow;
+import com.rh.javafx.util.HibernateUtil;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.regex.Pattern;
+
+/**
+ * Service class for the bulk import of employees from a CSV file
+ * The file is read as a stream, CHUNK_SIZE records at a time. Each chunk is validated in parallel with the rules
+ * of the employee form, checked for duplicate matricules and emails against sets loaded once at the start, then
+ * inserted with one JDBC batch in its own transaction. Rows are never loaded as entities, so the session holds
+ * nothing between chunks, and a failed row is reported with its line number instead of stopping the import.
+ */
+public class EmployeImportService {
+
+    // Records validated together and inserted in one transaction
+    private static final int CHUNK_SIZE = 1000;
+    private static final int FETCH_SIZE = 500;
+    private static final int DEFAULT_JOURS_CONGES = 18;
+    private static final BigDecimal SALAIRE_MAX = new BigDecimal("1000000");
+
+    private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    // Thousands separators, including the no-break spaces of French number formats
+    private static final Pattern SPACES = Pattern.compile("[\\s\\u00A0\\u202F]");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]");
+    private static final DateTimeFormatter DATE_FR = DateTimeFormatter.ofPattern("d/M/uuuu");
+
+    private static final String INSERT_EMPLOYE_SQL =
+            "INSERT INTO employe (matricule, nom, prenom, email, telephone, poste, departement, salaire_base, " +
+                    "jours_conges_restants, date_embauche, date_naissance, mot_de_passe_hash, version) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    /**
+     * A rejected row, by the line of the file it starts on
+     */
+    public record ImportError(long ligne, String message) {
+    }
+
+    /**
+     * Outcome of an import: rows read, rows inserted, and the rejected rows in file order
+     */
+    public record ImportResult(long lignes, int importes, List<ImportError> erreurs) {
+    }
+
+    /**
+     * Import columns, recognised by their header whatever its case, accents and punctuation
+     * The headers of the employees export are accepted, so an exported file can be imported elsewhere.
+     */
+    private enum Colonne {
+        MATRICULE("Matricule", true, 50, "matricule"),
+        NOM("Nom", true, 100, "nom"),
+        PRENOM("Prénom", true, 100, "prenom"),
+        EMAIL("Email", true, 150, "email", "mail"),
+        TELEPHONE("Téléphone", false, 20, "telephone", "tel"),
+        POSTE("Poste", false, 100, "poste"),
+        DEPARTEMENT("Département", false, 100, "departement"),
+        SALAIRE("Salaire de base", true, 0, "salairedebase", "salairebase", "salaire"),
+        JOURS_CONGES("Jours de congés restants", false, 0,
+                "joursdecongesrestants", "jourscongesrestants", "joursdeconges", "conges"),
+        DATE_EMBAUCHE("Date d'embauche", true, 0, "datedembauche", "dateembauche"),
+        DATE_NAISSANCE("Date de naissance", false, 0, "datedenaissance", "datenaissance"),
+        MOT_DE_PASSE("Mot de passe", false, 0, "motdepasse");
+
+        private final String label;
+        private final boolean required;
+        private final int maxLength;
+        private final List<String> names;
+
+        Colonne(String label, boolean required, int maxLength, String... names) {
+            this.label = label;
+            this.required = required;
+            this.maxLength = maxLength;
+            this.names = List.of(names);
+        }
+
+        static Colonne ofHeader(String header) {
+            String name = normalize(header);
+            for (Colonne colonne : values()) {
+                if (colonne.names.contains(name)) {
+                    return colonne;
+                }
+            }
+            return null;
+        }
+    }
+
+    private record Ligne(long numero, List<String> champs) {
+    }
+
+    // A validated row, ready to insert
+    private record NouvelEmploye(long ligne, String matricule, String nom, String prenom, String email,
+                                 String telephone, String poste, String departement, BigDecimal salaireBase,
+                                 int joursConges, LocalDate dateEmbauche, LocalDate dateNaissance,
+                                 String motDePasseHash) {
+    }
+
+    // Either employe or erreur is set
+    private record Validation(long ligne, NouvelEmploye employe, String erreur) {
+    }
+
+    /**
+     * Import the employees of a CSV file; progress is reported in bytes read
+     * Chunks already inserted stay when the import is cancelled or fails.
+     */
+    public ImportResult importerEmployes(Path fichier, ProgressListener progress) {
+        long taille;
+        try {
+            taille = Files.size(fichier);
+        } catch (IOException e) {
+            throw new RuntimeException("Impossible de lire le fichier " + fichier.getFileName(), e);
+        }
+        try (Session session = HibernateUtil.getSessionFactory().openSession();
+             CountingInputStream in = new CountingInputStream(Files.newInputStream(fichier))) {
+            CsvRecordReader reader = new CsvRecordReader(
+                    new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024));
+            int[] positions = mapColumns(reader.readHeader());
+
+            // Lowercase matricule or email -> line of the file using it, 0 when already in the database
+            Map<String, Long> matricules = new HashMap<>();
+            Map<String, Long> emails = new HashMap<>();
+            loadExistingKeys(session, matricules, emails);
+
+            List<ImportError> erreurs = new ArrayList<>();
+            long lignes = 0;
+            int importes = 0;
+            List<Ligne> chunk = new ArrayList<>(CHUNK_SIZE);
+            boolean fin = false;
+            while (!fin) {
+                List<String> champs = reader.next();
+                if (champs != null) {
+                    chunk.add(new Ligne(reader.recordLine(), champs));
+                    lignes++;
+                } else {
+                    fin = true;
+                }
+                if (chunk.size() == CHUNK_SIZE || (fin && !chunk.isEmpty())) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new CancellationException("Import annulé");
+                    }
+                    List<Validation> validations = chunk.parallelStream().map(l -> validate(l, positions)).toList();
+                    importes += insertChunk(session, validations, matricules, emails, erreurs);
+                    chunk.clear();
+                    progress.onProgress(in.count(), Math.max(taille, in.count()));
+                }
+            }
+            progress.onProgress(taille, taille);
+            System.out.println("Import des employés: " + importes + " importés sur " + lignes +
+                    " lignes, " + erreurs.size() + " rejetées");
+            return new ImportResult(lignes, importes, erreurs);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors de l'import des employés: " + e.getMessage(), e);
+        }
+    }
+
+    // Position of each column in the records, -1 when the file does not have it
+    private static int[] mapColumns(List<String> headers) {
+        int[] positions = new int[Colonne.values().length];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < headers.size(); i++) {
+            Colonne colonne = Colonne.ofHeader(headers.get(i));
+            if (colonne != null && positions[colonne.ordinal()] < 0) {
+                positions[colonne.ordinal()] = i;
+            }
+        }
+        List<String> manquantes = new ArrayList<>();
+        for (Colonne colonne : Colonne.values()) {
+            if (colonne.required && positions[colonne.ordinal()] < 0) {
+                manquantes.add(colonne.label);
+            }
+        }
+        if (!manquantes.isEmpty()) {
+            throw new IllegalArgumentException("Colonnes obligatoires manquantes: " + String.join(", ", manquantes));
+        }
+        return positions;
+    }
+
+    private static void loadExistingKeys(Session session, Map<String, Long> matricules, Map<String, Long> emails) {
+        try (ScrollableResults results = session.createQuery(
+                        "SELECT e.matricule, e.email FROM Employe e", Object[].class)
+                .setFetchSize(FETCH_SIZE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                matricules.put(key(results.get(0)), 0L);
+                if (results.get(1) != null) {
+                    emails.put(key(results.get(1)), 0L);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check one row against the employee form rules; runs on several threads at once
+     */
+    private static Validation validate(Ligne ligne, int[] positions) {
+        List<String> erreurs = new ArrayList<>();
+        String matricule = text(ligne, positions, Colonne.MATRICULE, erreurs);
+        String nom = text(ligne, positions, Colonne.NOM, erreurs);
+        String prenom = text(ligne, positions, Colonne.PRENOM, erreurs);
+        String email = text(ligne, positions, Colonne.EMAIL, erreurs);
+        if (email != null && !EMAIL.matcher(email).matches()) {
+            erreurs.add("l'email n'est pas valide");
+        }
+        String telephone = text(ligne, positions, Colonne.TELEPHONE, erreurs);
+        String poste = text(ligne, positions, Colonne.POSTE, erreurs);
+        String departement = text(ligne, positions, Colonne.DEPARTEMENT, erreurs);
+
+        BigDecimal salaire = null;
+        String salaireText = text(ligne, positions, Colonne.SALAIRE, erreurs);
+        if (salaireText != null) {
+            try {
+                salaire = new BigDecimal(SPACES.matcher(salaireText).replaceAll("").replace(',', '.'))
+                        .setScale(2, RoundingMode.HALF_UP);
+                if (salaire.signum() <= 0) {
+                    erreurs.add("le salaire doit être supérieur à 0");
+                } else if (salaire.compareTo(SALAIRE_MAX) > 0) {
+                    erreurs.add("le salaire semble trop élevé");
+                }
+            } catch (NumberFormatException e) {
+                erreurs.add("le salaire doit être un nombre valide");
+            }
+        }
+
+        int joursConges = DEFAULT_JOURS_CONGES;
+        String congesText = text(ligne, positions, Colonne.JOURS_CONGES, erreurs);
+        if (congesText != null) {
+            try {
+                joursConges = Integer.parseInt(congesText);
+                if (joursConges < 0) {
+                    erreurs.add("les jours de congés ne peuvent pas être négatifs");
+                } else if (joursConges > 365) {
+                    erreurs.add("les jours de congés semblent trop élevés");
+                }
+            } catch (NumberFormatException e) {
+                erreurs.add("les jours de congés doivent être un nombre entier");
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate dateEmbauche = date(ligne, positions, Colonne.DATE_EMBAUCHE, erreurs);
+        if (dateEmbauche != null && dateEmbauche.isAfter(today)) {
+            erreurs.add("la date d'embauche ne peut pas être dans le futur");
+        }
+        LocalDate dateNaissance = date(ligne, positions, Colonne.DATE_NAISSANCE, erreurs);
+        if (dateNaissance != null) {
+            long age = ChronoUnit.YEARS.between(dateNaissance, today);
+            if (dateNaissance.isAfter(today)) {
+                erreurs.add("la date de naissance ne peut pas être dans le futur");
+            } else if (age < 18) {
+                erreurs.add("l'employé doit avoir au moins 18 ans");
+            } else if (age > 100) {
+                erreurs.add("la date de naissance semble incorrecte");
+            }
+        }
+
+        String motDePasseHash = null;
+        String motDePasse = text(ligne, positions, Colonne.MOT_DE_PASSE, erreurs);
+        if (motDePasse != null) {
+            if (motDePasse.length() < 6) {
+                erreurs.add("le mot de passe doit contenir au moins 6 caractères");
+            } else {
+                motDePasseHash = AuthService.hashPassword(motDePasse);
+            }
+        }
+
+        if (!erreurs.isEmpty()) {
+            return new Validation(ligne.numero(), null, capitalize(String.join(", ", erreurs)));
+        }
+        return new Validation(ligne.numero(), new NouvelEmploye(ligne.numero(), matricule, nom, prenom, email,
+                telephone, poste, departement, salaire, joursConges, dateEmbauche, dateNaissance, motDePasseHash),
+                null);
+    }
+
+    // Trimmed cell value, null when empty; reports a missing required value or a value too long for its column
+    private static String text(Ligne ligne, int[] positions, Colonne colonne, List<String> erreurs) {
+        int position = positions[colonne.ordinal()];
+        String value = position >= 0 && position < ligne.champs().size()
+                ? ligne.champs().get(position).strip() : "";
+        // Undo the quote the exports put before text that would read as a formula
+        if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+            value = value.substring(1);
+        }
+        if (value.isEmpty()) {
+            if (colonne.required) {
+                erreurs.add(colonne.label + " obligatoire");
+            }
+            return null;
+        }
+        if (colonne.maxLength > 0 && value.length() > colonne.maxLength) {
+            erreurs.add(colonne.label + " trop long (" + colonne.maxLength + " caractères au plus)");
+        }
+        return value;
+    }
+
+    // ISO (2024-01-31) or French (31/01/2024) date
+    private static LocalDate date(Ligne ligne, int[] positions, Colonne colonne, List<String> erreurs) {
+        String value = text(ligne, positions, colonne, erreurs);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.indexOf('/') >= 0 ? LocalDate.parse(value, DATE_FR) : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            erreurs.add(colonne.label + " invalide (" + value + "), formats acceptés: AAAA-MM-JJ ou JJ/MM/AAAA");
+            return null;
+        }
+    }
+
+    /**
+     * Insert the valid rows of a chunk, returns the number of rows inserted
+     * A matricule or email counts as used once its row is in the database: a row sharing one with an earlier row
+     * of the chunk waits for the next pass, and is only reported as a duplicate if that row was inserted.
+     */
+    private static int insertChunk(Session session, List<Validation> validations, Map<String, Long> matricules,
+                                   Map<String, Long> emails, List<ImportError> erreurs) {
+        int importes = 0;
+        List<Validation> restantes = validations;
+        while (!restantes.isEmpty()) {
+            Set<String> matriculesPass = new HashSet<>();
+            Set<String> emailsPass = new HashSet<>();
+            List<NouvelEmploye> valides = new ArrayList<>(restantes.size());
+            List<Validation> reportees = new ArrayList<>();
+            for (Validation validation : restantes) {
+                String erreur = validation.erreur() != null
+                        ? validation.erreur()
+                        : checkUnique(validation.employe(), matricules, emails);
+                String matricule = validation.employe() != null ? key(validation.employe().matricule()) : null;
+                String email = validation.employe() != null ? key(validation.employe().email()) : null;
+                if (erreur != null) {
+                    erreurs.add(new ImportError(validation.ligne(), erreur));
+                    continue;
+                }
+                // A waiting row keeps its keys too, so the first line of the file still wins
+                boolean attend = matriculesPass.contains(matricule) || emailsPass.contains(email);
+                matriculesPass.add(matricule);
+                emailsPass.add(email);
+                if (attend) {
+                    reportees.add(validation);
+                } else {
+                    valides.add(validation.employe());
+                }
+            }
+            Set<String> inseres = new HashSet<>();
+            for (EmployeRow row : insert(session, valides, erreurs)) {
+                inseres.add(key(row.matricule()));
+            }
+            for (NouvelEmploye employe : valides) {
+                if (inseres.contains(key(employe.matricule()))) {
+                    matricules.put(key(employe.matricule()), employe.ligne());
+                    emails.put(key(employe.email()), employe.ligne());
+                }
+            }
+            importes += inseres.size();
+            restantes = reportees;
+        }
+        // Rows rejected by the database or in a later pass come after the validation errors of the chunk
+        erreurs.sort((a, b) -> Long.compare(a.ligne(), b.ligne()));
+        return importes;
+    }
+
+    // Matricules and emails are unique in the database and within the file; the first line inserted wins
+    private static String checkUnique(NouvelEmploye employe, Map<String, Long> matricules, Map<String, Long> emails) {
+        List<String> erreurs = new ArrayList<>();
+        duplicate("Le matricule ", employe.matricule(), matricules.get(key(employe.matricule())), erreurs);
+        duplicate("L'email ", employe.email(), emails.get(key(employe.email())), erreurs);
+        return erreurs.isEmpty() ? null : String.join(", ", erreurs);
+    }
+
+    private static void duplicate(String what, String value, Long ligne, List<String> erreurs) {
+        if (ligne == null) {
+            return;
+        }
+        String message = (erreurs.isEmpty() ? what : what.toLowerCase(Locale.FRENCH)) + value;
+        erreurs.add(ligne == 0 ? message + " existe déjà" : message + " est déjà utilisé ligne " + ligne);
+    }
+
+    /**
+     * Insert rows with one JDBC batch in its own transaction, returns the rows inserted
+     * When the batch fails the chunk is rolled back and inserted row by row, so that only the faulty rows are
+     * reported. MySQL undoes a failed INSERT on its own without aborting the transaction.
+     */
+    private static List<EmployeRow> insert(Session session, List<NouvelEmploye> employes,
+                                           List<ImportError> erreurs) {
+        if (employes.isEmpty()) {
+            return List.of();
+        }
+        List<EmployeRow> rows;
+        Transaction transaction = session.beginTransaction();
+        try {
+            rows = session.doReturningWork(connection -> insertBatch(connection, employes));
+            transaction.commit();
+        } catch (RuntimeException batchError) {
+            HibernateUtil.rollback(transaction, batchError);
+            transaction = session.beginTransaction();
+            try {
+                rows = session.doReturningWork(connection -> insertOneByOne(connection, employes, erreurs));
+                transaction.commit();
+            } catch (RuntimeException e) {
+                HibernateUtil.rollback(transaction, e);
+                throw e;
+            }
+        }
+        // The inserts bypassed Hibernate, which would otherwise have invalidated these
+        HibernateUtil.getSessionFactory().getCache().evictQueryRegion(EmployeService.EMPLOYE_LIST_REGION);
+        DashboardStatsService.invalidate();
+        EmployeService.indexImported(rows);
+        return rows;
+    }
+
+    private static List<EmployeRow> insertBatch(Connection connection, List<NouvelEmploye> employes)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_EMPLOYE_SQL,
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (NouvelEmploye employe : employes) {
+                bind(insert, employe);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            List<EmployeRow> rows = new ArrayList<>(employes.size());
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                for (NouvelEmploye employe : employes) {
+                    if (!keys.next()) {
+                        throw new SQLException("Identifiant généré manquant pour la ligne " + employe.ligne());
+                    }
+                    rows.add(row(keys.getInt(1), employe));
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static List<EmployeRow> insertOneByOne(Connection connection, List<NouvelEmploye> employes,
+                                                   List<ImportError> erreurs) throws SQLException {
+        List<EmployeRow> rows = new ArrayList<>();
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_EMPLOYE_SQL,
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (NouvelEmploye employe : employes) {
+                try {
+                    bind(insert, employe);
+                    insert.executeUpdate();
+                    try (ResultSet keys = insert.getGeneratedKeys()) {
+                        keys.next();
+                        rows.add(row(keys.getInt(1), employe));
+                    }
+                } catch (SQLException e) {
+                    erreurs.add(new ImportError(employe.ligne(), "Rejetée par la base de données: " + e.getMessage()));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static void bind(PreparedStatement insert, NouvelEmploye employe) throws SQLException {
+        insert.setString(1, employe.matricule());
+        insert.setString(2, employe.nom());
+        insert.setString(3, employe.prenom());
+        insert.setString(4, employe.email());
+        insert.setString(5, employe.telephone());
+        insert.setString(6, employe.poste());
+        insert.setString(7, employe.departement());
+        insert.setBigDecimal(8, employe.salaireBase());
+        insert.setInt(9, employe.joursConges());
+        insert.setDate(10, Date.valueOf(employe.dateEmbauche()));
+        if (employe.dateNaissance() != null) {
+            insert.setDate(11, Date.valueOf(employe.dateNaissance()));
+        } else {
+            insert.setNull(11, Types.DATE);
+        }
+        insert.setString(12, employe.motDePasseHash());
+    }
+
+    private static EmployeRow row(int id, NouvelEmploye employe) {
+        return new EmployeRow(id, employe.matricule(), employe.nom(), employe.prenom(), employe.email(),
+                employe.poste(), employe.salaireBase(), employe.joursConges());
+    }
+
+    private static String key(Object value) {
+        return value.toString().toLowerCase(Locale.ROOT);
+    }
+
+    // Header name without case, accents, spaces or punctuation: "Date d'embauche" -> "datedembauche"
+    private static String normalize(String header) {
+        String decomposed = Normalizer.normalize(header.strip().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return NON_ALPHANUMERIC.matcher(DIACRITICS.matcher(decomposed).replaceAll("")).replaceAll("");
+    }
+
+    private static String capitalize(String message) {
+        return Character.toUpperCase(message.charAt(0)) + message.substring(1);
+    }
+
+    /**
+     * Input stream counting the bytes read, for the progress of the import
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        long count() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.model.EmployeRow;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over the searchable employee fields (nom, prenom, email, matricule)
+ * Matches follow the LIKE '%term%' semantics of the database search, case and accent insensitive like the
+ * MySQL collation, and are ranked by match quality.
+ * The index stays cold, and callers fall back to the database, until install() has run.
+ */
+class EmployeSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    // Candidate sets up to 1/SORT_RATIO of the entries are sorted, larger ones filter the alphabetical walk
+    private static final int SORT_RATIO = 16;
+
+    // Match scores, best first
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int CONTAINS = 2;
+
+    // Same order as the employees table: nom, prenom, id
+    private static final Comparator<Entry> ALPHABETICAL = Comparator
+            .comparing((Entry entry) -> entry.fields()[0])
+            .thenComparing(entry -> entry.fields()[1])
+            .thenComparing(entry -> entry.row().id());
+
+    private record Entry(EmployeRow row, String[] fields) {
+    }
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+
+    // Entries in alphabetical order, rebuilt on the first search after a change
+    private Entry[] ordered;
+
+    private boolean ready;
+    // Changes made while a build is loading rows, replayed on install (null row = removed)
+    private Map<Integer, EmployeRow> pendingChanges;
+
+    synchronized boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Start collecting changes for a build, returns false if a build is already running
+     */
+    synchronized boolean beginBuild() {
+        if (pendingChanges != null) {
+            return false;
+        }
+        pendingChanges = new LinkedHashMap<>();
+        return true;
+    }
+
+    /**
+     * Replace the index content with the loaded rows and mark it ready
+     */
+    synchronized void install(List<EmployeRow> rows) {
+        entries.clear();
+        postings.clear();
+        rows.forEach(this::add);
+        if (pendingChanges != null) {
+            pendingChanges.forEach((id, row) -> {
+                removeEntry(id);
+                if (row != null) {
+                    add(row);
+                }
+            });
+            pendingChanges = null;
+        }
+        ready = true;
+    }
+
+    synchronized void abortBuild() {
+        pendingChanges = null;
+    }
+
+    /**
+     * Add or replace an employee
+     */
+    synchronized void put(EmployeRow row) {
+        if (pendingChanges != null) {
+            pendingChanges.put(row.id(), row);
+        }
+        if (ready) {
+            removeEntry(row.id());
+            add(row);
+        }
+    }
+
+    synchronized void remove(Integer id) {
+        if (pendingChanges != null) {
+            pendingChanges.put(id, null);
+        }
+        if (ready) {
+            removeEntry(id);
+        }
+    }
+
+    /**
+     * Find the employees whose nom, prenom, email or matricule contains the term, best matches first
+     */
+    synchronized List<EmployeRow> search(String searchTerm) {
+        String term = normalize(searchTerm);
+        if (ordered == null) {
+            ordered = entries.values().toArray(new Entry[0]);
+            Arrays.sort(ordered, ALPHABETICAL);
+        }
+
+        Set<Integer> candidates = candidates(term);
+        boolean sortCandidates = candidates != null && candidates.size() <= ordered.length / SORT_RATIO;
+        Entry[] scanned;
+        if (!sortCandidates) {
+            scanned = ordered;
+        } else {
+            scanned = new Entry[candidates.size()];
+            int i = 0;
+            for (Integer id : candidates) {
+                scanned[i++] = entries.get(id);
+            }
+            Arrays.sort(scanned, ALPHABETICAL);
+        }
+
+        // Bucketing the alphabetical entries by score gives the ranking without another sort
+        List<List<EmployeRow>> buckets = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (Entry entry : scanned) {
+            if (!sortCandidates && candidates != null && !candidates.contains(entry.row().id())) {
+                continue;
+            }
+            int score = score(entry.fields(), term);
+            if (score >= 0) {
+                buckets.get(score).add(entry.row());
+            }
+        }
+
+        List<EmployeRow> rows = new ArrayList<>(
+                buckets.get(EXACT).size() + buckets.get(PREFIX).size() + buckets.get(CONTAINS).size());
+        buckets.forEach(rows::addAll);
+        return rows;
+    }
+
+    // Ids sharing every trigram of the term, null when every entry has to be checked
+    private Set<Integer> candidates(String term) {
+        if (term.length() < GRAM) {
+            return null;
+        }
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String gram : grams(term)) {
+            Set<Integer> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        if (lists.get(0).size() > entries.size() / 2) {
+            // Not selective enough to be worth intersecting
+            return null;
+        }
+
+        Set<Integer> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    // Best score over the fields, -1 when no field contains the term
+    private static int score(String[] fields, String term) {
+        int best = -1;
+        for (String field : fields) {
+            if (field.startsWith(term)) {
+                int score = field.length() == term.length() ? EXACT : PREFIX;
+                if (best < 0 || score < best) {
+                    best = score;
+                }
+            } else if (best < 0 && field.contains(term)) {
+                best = CONTAINS;
+            }
+        }
+        return best;
+    }
+
+    private void add(EmployeRow row) {
+        String[] fields = {
+                normalize(row.nom()), normalize(row.prenom()),
+                normalize(row.email()), normalize(row.matricule())
+        };
+        entries.put(row.id(), new Entry(row, fields));
+        ordered = null;
+        for (String field : fields) {
+            for (String gram : grams(field)) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(row.id());
+            }
+        }
+    }
+
+    private void removeEntry(Integer id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        ordered = null;
+        for (String field : entry.fields()) {
+            for (String gram : grams(field)) {
+                Set<Integer> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // "Hélène" and "helene" index the same, as in EmployeImportService.normalize()
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("");
+    }
+}
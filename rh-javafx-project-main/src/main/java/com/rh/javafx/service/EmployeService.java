@@ -1,19 +1,33 @@
 package com.rh.javafx.service;
 
 import com.rh.javafx.model.Employe;
+import com.rh.javafx.model.EmployeRow;
 import com.rh.javafx.util.HibernateUtil;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 
+import javax.persistence.LockModeType;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Service class for Employee operations
  */
 public class EmployeService {
 
+    // Selects only the columns shown in the employees table
+    private static final String EMPLOYE_ROW_SELECT =
+            "SELECT new com.rh.javafx.model.EmployeRow(e.id, e.matricule, e.nom, e.prenom, e.email, " +
+                    "e.poste, e.salaireBase, e.joursCongesRestants) FROM Employe e ";
+
+    // Query cache region of getAllEmployes(), evicted by writes that bypass Hibernate
+    static final String EMPLOYE_LIST_REGION = "employe-list";
+
+    // Shared by all service instances, cold until warmSearchIndex() has run
+    private static final EmployeSearchIndex searchIndex = new EmployeSearchIndex();
+
     /**
      * Save or update an employee
      */
@@ -21,15 +35,34 @@ public class EmployeService {
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
+            boolean existant = employe.getId() != null;
+            String ancienDepartement = null;
+            if (existant) {
+                // Locked first: payslip writes read the department under a shared lock, so none is filed under
+                // the old department while the totals move
+                ancienDepartement = session.createQuery(
+                                "SELECT e.departement FROM Employe e WHERE e.id = :id", String.class)
+                        .setParameter("id", employe.getId())
+                        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                        .uniqueResult();
+            }
             session.saveOrUpdate(employe);
+            if (existant && !Objects.equals(ancienDepartement, employe.getDepartement())) {
+                // Payroll totals are kept per department
+                PayrollSummaryTable.moveEmploye(session, employe.getId(), ancienDepartement, employe.getDepartement());
+            }
             transaction.commit();
+            DashboardStatsService.invalidate();
+            indexEmploye(employe);
+            CongeService.updateCalendarEmploye(employe);
             System.out.println("Employé sauvegardé: " + employe.getNomComplet());
         } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
+            HibernateUtil.rollback(transaction, e);
+            if (HibernateUtil.isConflict(e)) {
+                // Not retried: the form would silently overwrite the other change
+                throw new ServiceException("L'employé a été modifié entre-temps, rechargez-le avant de l'enregistrer", e);
             }
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la sauvegarde de l'employé", e);
+            throw new ServiceException("Erreur lors de la sauvegarde de l'employé", e);
         }
     }
 
@@ -40,8 +73,7 @@ public class EmployeService {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             return session.get(Employe.class, id);
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération de l'employé", e);
+            throw new ServiceException("Erreur lors de la récupération de l'employé", e);
         }
     }
 
@@ -55,8 +87,7 @@ public class EmployeService {
             query.setParameter("matricule", matricule);
             return query.uniqueResult();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération de l'employé", e);
+            throw new ServiceException("Erreur lors de la récupération de l'employé", e);
         }
     }
 
@@ -66,10 +97,39 @@ public class EmployeService {
     public List<Employe> getAllEmployes() {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Employe> query = session.createQuery("FROM Employe ORDER BY nom, prenom", Employe.class);
+            query.setCacheable(true);
+            query.setCacheRegion(EMPLOYE_LIST_REGION);
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des employés", e);
+            throw new ServiceException("Erreur lors de la récupération des employés", e);
+        }
+    }
+
+    /**
+     * Get a page of employee rows ordered by (nom, prenom, id), starting after the given row
+     * Pass null to get the first page
+     */
+    public List<EmployeRow> getEmployesPage(EmployeRow after, int pageSize) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<EmployeRow> query;
+            if (after == null) {
+                query = session.createQuery(
+                        EMPLOYE_ROW_SELECT + "ORDER BY e.nom, e.prenom, e.id", EmployeRow.class);
+            } else {
+                query = session.createQuery(
+                        EMPLOYE_ROW_SELECT + "WHERE e.nom > :nom " +
+                                "OR (e.nom = :nom AND e.prenom > :prenom) " +
+                                "OR (e.nom = :nom AND e.prenom = :prenom AND e.id > :id) " +
+                                "ORDER BY e.nom, e.prenom, e.id",
+                        EmployeRow.class);
+                query.setParameter("nom", after.nom());
+                query.setParameter("prenom", after.prenom());
+                query.setParameter("id", after.id());
+            }
+            query.setMaxResults(pageSize);
+            return query.list();
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors de la récupération des employés", e);
         }
     }
 
@@ -85,11 +145,61 @@ public class EmployeService {
             query.setParameter("search", "%" + searchTerm.toLowerCase() + "%");
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la recherche d'employés", e);
+            throw new ServiceException("Erreur lors de la recherche d'employés", e);
+        }
+    }
+
+    /**
+     * Search employee rows by name, matricule or email
+     * Uses the in-memory index once it is built, the database otherwise
+     */
+    public List<EmployeRow> searchEmployeRows(String searchTerm) {
+        if (searchIndex.isReady()) {
+            return searchIndex.search(searchTerm);
+        }
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<EmployeRow> query = session.createQuery(
+                    EMPLOYE_ROW_SELECT + "WHERE LOWER(e.nom) LIKE :search OR LOWER(e.prenom) LIKE :search " +
+                            "OR LOWER(e.email) LIKE :search OR LOWER(e.matricule) LIKE :search",
+                    EmployeRow.class);
+            query.setParameter("search", "%" + searchTerm.toLowerCase() + "%");
+            return query.list();
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors de la recherche d'employés", e);
         }
     }
 
+    /**
+     * Build the in-memory search index if it is still cold
+     */
+    public void warmSearchIndex() {
+        if (searchIndex.isReady() || !searchIndex.beginBuild()) {
+            return;
+        }
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            List<EmployeRow> rows = session.createQuery(EMPLOYE_ROW_SELECT, EmployeRow.class).list();
+            searchIndex.install(rows);
+            System.out.println("Index de recherche construit: " + rows.size() + " employés");
+        } catch (Exception e) {
+            searchIndex.abortBuild();
+            throw new ServiceException("Erreur lors de la construction de l'index de recherche", e);
+        }
+    }
+
+    /**
+     * Refresh an employee in the search index after it was changed outside saveEmploye
+     */
+    public void indexEmploye(Employe employe) {
+        searchIndex.put(EmployeRow.of(employe));
+    }
+
+    /**
+     * Add employees inserted by the CSV import to the search index
+     */
+    static void indexImported(List<EmployeRow> rows) {
+        rows.forEach(searchIndex::put);
+    }
+
     /**
      * Get employees by department
      */
@@ -100,8 +210,7 @@ public class EmployeService {
             query.setParameter("dept", departement);
             return query.list();
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la récupération des employés", e);
+            throw new ServiceException("Erreur lors de la récupération des employés", e);
         }
     }
 
@@ -114,16 +223,18 @@ public class EmployeService {
             transaction = session.beginTransaction();
             Employe employe = session.get(Employe.class, id);
             if (employe != null) {
+                // The employee's payslips are deleted with it
+                PayrollSummaryTable.removeEmploye(session, id, employe.getDepartement());
                 session.delete(employe);
                 System.out.println("Employé supprimé: " + employe.getNomComplet());
             }
             transaction.commit();
+            DashboardStatsService.invalidate();
+            searchIndex.remove(id);
+            CongeService.removeCalendarEmploye(id);
         } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            e.printStackTrace();
-            throw new RuntimeException("Erreur lors de la suppression de l'employé", e);
+            HibernateUtil.rollback(transaction, e);
+            throw new ServiceException("Erreur lors de la suppression de l'employé", e);
         }
     }
 
@@ -135,8 +246,7 @@ public class EmployeService {
             Query<Long> query = session.createQuery("SELECT COUNT(e) FROM Employe e", Long.class);
             return query.uniqueResult();
         } catch (Exception e) {
-            e.printStackTrace();
-            return 0;
+            throw new ServiceException("Erreur lors du comptage des employés", e);
         }
     }
 
@@ -150,8 +260,7 @@ public class EmployeService {
             BigDecimal result = query.uniqueResult();
             return result != null ? result : BigDecimal.ZERO;
         } catch (Exception e) {
-            e.printStackTrace();
-            return BigDecimal.ZERO;
+            throw new ServiceException("Erreur lors du calcul du salaire moyen", e);
         }
     }
 
@@ -165,8 +274,7 @@ public class EmployeService {
             BigDecimal result = query.uniqueResult();
             return result != null ? result : BigDecimal.ZERO;
         } catch (Exception e) {
-            e.printStackTrace();
-            return BigDecimal.ZERO;
+            throw new ServiceException("Erreur lors du calcul de la masse salariale", e);
         }
     }
 }
@@ -0,0 +1,135 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.util.HibernateUtil;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Service class for the CSV and Excel exports of employees, leaves and payslips
+ * Rows are read through a forward-only cursor and written as they arrive, so an export holds one fetch window
+ * whatever its size. Reading and writing run on the same thread: a slow output stream slows the fetching down
+ * instead of letting rows pile up in memory. Interrupting the thread stops the export.
+ */
+public class ExportService {
+
+    // Rows fetched per round trip, and rows between two progress reports
+    private static final int FETCH_SIZE = 500;
+
+    /**
+     * Export file formats
+     */
+    public enum Format {
+        CSV("csv"),
+        XLSX("xlsx");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Get the format matching a file name's extension, XLSX when it is not .csv
+         */
+        public static Format ofFileName(String fileName) {
+            return fileName.toLowerCase().endsWith("." + CSV.extension) ? CSV : XLSX;
+        }
+    }
+
+    private record ExportQuery(String count, String rows, Map<String, Object> parameters, List<String> headers) {
+    }
+
+    private static final ExportQuery EMPLOYES = new ExportQuery(
+            "SELECT COUNT(e) FROM Employe e",
+            "SELECT e.id, e.matricule, e.nom, e.prenom, e.email, e.telephone, e.poste, e.departement, " +
+                    "e.salaireBase, e.joursCongesRestants, e.dateEmbauche FROM Employe e ORDER BY e.id",
+            Map.of(),
+            List.of("ID", "Matricule", "Nom", "Prénom", "Email", "Téléphone", "Poste", "Département",
+                    "Salaire de base", "Jours de congés restants", "Date d'embauche"));
+
+    private static final ExportQuery CONGES = new ExportQuery(
+            "SELECT COUNT(c) FROM Conge c",
+            "SELECT c.id, e.matricule, e.nom, e.prenom, c.typeConge, c.dateDebut, c.dateFin, c.dureeJours, " +
+                    "c.statut, c.motif FROM Conge c JOIN c.employe e ORDER BY c.dateDebut, c.id",
+            Map.of(),
+            List.of("ID", "Matricule", "Nom", "Prénom", "Type", "Date de début", "Date de fin", "Durée (jours)",
+                    "Statut", "Motif"));
+
+    private static final String BULLETINS_SELECT =
+            "SELECT b.id, e.matricule, e.nom, e.prenom, e.departement, b.periode, b.dateEmission, " +
+                    "b.salaireBrut, b.primes, b.retenues, b.salaireNet FROM BulletinPaie b JOIN b.employe e ";
+
+    private static final List<String> BULLETINS_HEADERS = List.of("ID", "Matricule", "Nom", "Prénom", "Département",
+            "Période", "Date d'émission", "Salaire brut", "Primes", "Retenues", "Salaire net");
+
+    /**
+     * Export every employee, returns the number of rows written
+     */
+    public long exportEmployes(Format format, OutputStream out, ProgressListener progress) {
+        return export(EMPLOYES, format, out, progress, "employés");
+    }
+
+    /**
+     * Export every leave, returns the number of rows written
+     */
+    public long exportConges(Format format, OutputStream out, ProgressListener progress) {
+        return export(CONGES, format, out, progress, "congés");
+    }
+
+    /**
+     * Export the payslips of a period, or of all periods when periode is null, returns the number of rows written
+     */
+    public long exportBulletins(String periode, Format format, OutputStream out, ProgressListener progress) {
+        ExportQuery query = periode == null
+                ? new ExportQuery("SELECT COUNT(b) FROM BulletinPaie b",
+                        BULLETINS_SELECT + "ORDER BY b.periode, e.id, b.id", Map.of(), BULLETINS_HEADERS)
+                : new ExportQuery("SELECT COUNT(b) FROM BulletinPaie b WHERE b.periode = :periode",
+                        BULLETINS_SELECT + "WHERE b.periode = :periode ORDER BY e.id, b.id",
+                        Map.of("periode", periode), BULLETINS_HEADERS);
+        return export(query, format, out, progress, "bulletins");
+    }
+
+    private long export(ExportQuery export, Format format, OutputStream out, ProgressListener progress,
+                        String what) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Long> countQuery = session.createQuery(export.count(), Long.class);
+            export.parameters().forEach(countQuery::setParameter);
+            long total = countQuery.uniqueResult();
+
+            Query<Object[]> rowsQuery = session.createQuery(export.rows(), Object[].class);
+            export.parameters().forEach(rowsQuery::setParameter);
+            long done = 0;
+            try (ScrollableResults results = rowsQuery.setFetchSize(FETCH_SIZE).scroll(ScrollMode.FORWARD_ONLY);
+                 TableWriter writer = TableWriter.create(format, out, export.headers())) {
+                while (results.next()) {
+                    writer.writeRow(results.get());
+                    if (++done % FETCH_SIZE == 0) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new CancellationException("Export annulé");
+                        }
+                        // Rows added since the count keep the bar full rather than past the end
+                        progress.onProgress(done, Math.max(total, done));
+                    }
+                }
+            }
+            progress.onProgress(done, Math.max(total, done));
+            System.out.println("Export " + format + " des " + what + ": " + done + " lignes");
+            return done;
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServiceException("Erreur lors de l'export des " + what, e);
+        }
+    }
+}
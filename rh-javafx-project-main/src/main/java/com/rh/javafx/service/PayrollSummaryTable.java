@@ -0,0 +1,351 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.model.BulletinPaie;
+import com.rh.javafx.model.PayrollPeriodSummary;
+import org.hibernate.Session;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Read model of the payslip totals per period and department, stored in the payroll_period_summary table
+ * Every payslip write applies its delta in the same transaction, so reports read one row per period and
+ * department instead of scanning bulletin_paie. Statements go through JDBC: a native Hibernate update
+ * would evict the whole second-level cache.
+ */
+class PayrollSummaryTable {
+
+    // Department key of the employees without a department
+    static final String SANS_DEPARTEMENT = "";
+
+    private static final String TOTALS_COLUMNS =
+            "COUNT(*), COALESCE(SUM(b.salaire_brut), 0), COALESCE(SUM(b.primes), 0), " +
+                    "COALESCE(SUM(b.retenues), 0), COALESCE(SUM(b.salaire_net), 0) ";
+
+    // Totals recomputed from the payslips, with the employees' current department
+    private static final String COMPUTE_SQL =
+            "SELECT b.periode, COALESCE(e.departement, ''), " + TOTALS_COLUMNS +
+                    "FROM bulletin_paie b JOIN employe e ON e.id = b.employe_id %s" +
+                    "GROUP BY b.periode, COALESCE(e.departement, '')";
+
+    private static final String EMPLOYE_TOTALS_SQL =
+            "SELECT b.periode, " + TOTALS_COLUMNS +
+                    "FROM bulletin_paie b WHERE b.employe_id = ? GROUP BY b.periode";
+
+    private static final String SUMMARY_COLUMNS =
+            "SUM(s.nombre_bulletins), COALESCE(SUM(s.salaire_brut), 0), COALESCE(SUM(s.primes), 0), " +
+                    "COALESCE(SUM(s.retenues), 0), COALESCE(SUM(s.salaire_net), 0) ";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO payroll_period_summary " +
+                    "(periode, departement, nombre_bulletins, salaire_brut, primes, retenues, salaire_net) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                    "nombre_bulletins = nombre_bulletins + VALUES(nombre_bulletins), " +
+                    "salaire_brut = salaire_brut + VALUES(salaire_brut), " +
+                    "primes = primes + VALUES(primes), " +
+                    "retenues = retenues + VALUES(retenues), " +
+                    "salaire_net = salaire_net + VALUES(salaire_net)";
+
+    private static final String DELETE_EMPTY_SQL =
+            "DELETE FROM payroll_period_summary WHERE periode = ? AND departement = ? AND nombre_bulletins <= 0";
+
+    /**
+     * Summary row key; the rows are updated in key order so that concurrent transactions lock them in the same order
+     */
+    record Key(String periode, String departement) implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER =
+                Comparator.comparing(Key::periode).thenComparing(Key::departement);
+
+        Key {
+            departement = departement == null ? SANS_DEPARTEMENT : departement;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Payslip count and amounts of a summary row, or a change to apply to one
+     */
+    record Totals(long nombreBulletins, BigDecimal salaireBrut, BigDecimal primes, BigDecimal retenues,
+                  BigDecimal salaireNet) {
+
+        static final Totals ZERO = new Totals(0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        static Totals of(BulletinPaie bulletin) {
+            return new Totals(1, orZero(bulletin.getSalaireBrut()), orZero(bulletin.getPrimes()),
+                    orZero(bulletin.getRetenues()), orZero(bulletin.getSalaireNet()));
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(nombreBulletins + other.nombreBulletins, salaireBrut.add(other.salaireBrut),
+                    primes.add(other.primes), retenues.add(other.retenues), salaireNet.add(other.salaireNet));
+        }
+
+        Totals negate() {
+            return new Totals(-nombreBulletins, salaireBrut.negate(), primes.negate(), retenues.negate(),
+                    salaireNet.negate());
+        }
+
+        boolean isZero() {
+            return sameAs(ZERO);
+        }
+
+        // Amounts compared by value, 10.5 and 10.50 are the same total
+        boolean sameAs(Totals other) {
+            return nombreBulletins == other.nombreBulletins
+                    && salaireBrut.compareTo(other.salaireBrut) == 0
+                    && primes.compareTo(other.primes) == 0
+                    && retenues.compareTo(other.retenues) == 0
+                    && salaireNet.compareTo(other.salaireNet) == 0;
+        }
+
+        PayrollPeriodSummary toSummary(String periode) {
+            return new PayrollPeriodSummary(periode, nombreBulletins, salaireBrut, primes, retenues, salaireNet);
+        }
+
+        private static BigDecimal orZero(BigDecimal amount) {
+            return amount != null ? amount : BigDecimal.ZERO;
+        }
+    }
+
+    /**
+     * Outcome of a rebuild: rows written and rows that did not match the recomputed totals
+     */
+    record RebuildResult(int rows, List<Key> mismatches) {
+    }
+
+    private PayrollSummaryTable() {
+    }
+
+    /**
+     * Add the deltas to their rows, creating the missing rows and dropping the rows left without payslips
+     */
+    static void apply(Session session, Map<Key, Totals> deltas) {
+        Map<Key, Totals> ordered = new TreeMap<>(deltas);
+        ordered.values().removeIf(Totals::isZero);
+        if (ordered.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement upsert = connection.prepareStatement(UPSERT_SQL);
+                 PreparedStatement deleteEmpty = connection.prepareStatement(DELETE_EMPTY_SQL)) {
+                for (Map.Entry<Key, Totals> entry : ordered.entrySet()) {
+                    Key key = entry.getKey();
+                    Totals delta = entry.getValue();
+                    upsert.setString(1, key.periode());
+                    upsert.setString(2, key.departement());
+                    upsert.setLong(3, delta.nombreBulletins());
+                    upsert.setBigDecimal(4, delta.salaireBrut());
+                    upsert.setBigDecimal(5, delta.primes());
+                    upsert.setBigDecimal(6, delta.retenues());
+                    upsert.setBigDecimal(7, delta.salaireNet());
+                    upsert.executeUpdate();
+                    if (delta.nombreBulletins() < 0) {
+                        deleteEmpty.setString(1, key.periode());
+                        deleteEmpty.setString(2, key.departement());
+                        deleteEmpty.executeUpdate();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Delta adding a new payslip of an employee of the department
+     */
+    static Map<Key, Totals> added(BulletinPaie bulletin, String departement) {
+        return Map.of(new Key(bulletin.getPeriode(), departement), Totals.of(bulletin));
+    }
+
+    /**
+     * Totals of one payslip as stored in the database, keyed by its period and its employee's department
+     */
+    static Map<Key, Totals> bulletinTotals(Session session, Integer bulletinId) {
+        return session.doReturningWork(connection -> compute(connection, "WHERE b.id = ? ", bulletinId));
+    }
+
+    /**
+     * Move an employee's payslips from one department to another
+     */
+    static void moveEmploye(Session session, Integer employeId, String departementFrom, String departementTo) {
+        Map<Key, Totals> deltas = new TreeMap<>();
+        employeTotals(session, employeId).forEach((periode, totals) -> {
+            deltas.merge(new Key(periode, departementFrom), totals.negate(), Totals::plus);
+            deltas.merge(new Key(periode, departementTo), totals, Totals::plus);
+        });
+        apply(session, deltas);
+    }
+
+    /**
+     * Remove an employee's payslips, before the employee and its payslips are deleted
+     */
+    static void removeEmploye(Session session, Integer employeId, String departement) {
+        Map<Key, Totals> deltas = new TreeMap<>();
+        employeTotals(session, employeId).forEach((periode, totals) ->
+                deltas.put(new Key(periode, departement), totals.negate()));
+        apply(session, deltas);
+    }
+
+    private static Map<String, Totals> employeTotals(Session session, Integer employeId) {
+        return session.doReturningWork(connection -> {
+            Map<String, Totals> byPeriode = new LinkedHashMap<>();
+            try (PreparedStatement query = connection.prepareStatement(EMPLOYE_TOTALS_SQL)) {
+                query.setInt(1, employeId);
+                try (ResultSet rs = query.executeQuery()) {
+                    while (rs.next()) {
+                        byPeriode.put(rs.getString(1), readTotals(rs, 2));
+                    }
+                }
+            }
+            return byPeriode;
+        });
+    }
+
+    /**
+     * Get the totals of every period, or of one period when periode is not null, in period order
+     */
+    static List<PayrollPeriodSummary> byPeriode(Session session, String periode) {
+        String sql = "SELECT s.periode, " + SUMMARY_COLUMNS + "FROM payroll_period_summary s " +
+                (periode != null ? "WHERE s.periode = ? " : "") + "GROUP BY s.periode ORDER BY s.periode";
+        return session.doReturningWork(connection -> {
+            List<PayrollPeriodSummary> summaries = new ArrayList<>();
+            try (PreparedStatement query = connection.prepareStatement(sql)) {
+                if (periode != null) {
+                    query.setString(1, periode);
+                }
+                try (ResultSet rs = query.executeQuery()) {
+                    while (rs.next()) {
+                        summaries.add(readTotals(rs, 2).toSummary(rs.getString(1)));
+                    }
+                }
+            }
+            return summaries;
+        });
+    }
+
+    /**
+     * Get the totals of a period per department, in department order
+     */
+    static Map<String, PayrollPeriodSummary> byDepartement(Session session, String periode) {
+        return session.doReturningWork(connection -> {
+            Map<String, PayrollPeriodSummary> summaries = new LinkedHashMap<>();
+            try (PreparedStatement query = connection.prepareStatement(
+                    "SELECT s.departement, s.nombre_bulletins, s.salaire_brut, s.primes, s.retenues, s.salaire_net " +
+                            "FROM payroll_period_summary s WHERE s.periode = ? ORDER BY s.departement")) {
+                query.setString(1, periode);
+                try (ResultSet rs = query.executeQuery()) {
+                    while (rs.next()) {
+                        summaries.put(rs.getString(1), readTotals(rs, 2).toSummary(periode));
+                    }
+                }
+            }
+            return summaries;
+        });
+    }
+
+    /**
+     * Get the totals over all periods
+     */
+    static Totals total(Session session) {
+        return session.doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT " + SUMMARY_COLUMNS + "FROM payroll_period_summary s")) {
+                rs.next();
+                return readTotals(rs, 1);
+            }
+        });
+    }
+
+    /**
+     * Recompute the table from the payslips, and report the rows whose stored totals differed
+     * The summary rows are locked before the payslips are read: payslip writes wait for the rebuild to commit
+     * and then apply their delta to the rebuilt rows.
+     */
+    static RebuildResult rebuild(Session session) {
+        return session.doReturningWork(connection -> {
+            Map<Key, Totals> stored = new TreeMap<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT s.periode, s.departement, s.nombre_bulletins, s.salaire_brut, s.primes, " +
+                                 "s.retenues, s.salaire_net FROM payroll_period_summary s FOR UPDATE")) {
+                while (rs.next()) {
+                    stored.put(new Key(rs.getString(1), rs.getString(2)), readTotals(rs, 3));
+                }
+            }
+            Map<Key, Totals> computed = compute(connection, "", null);
+
+            TreeSet<Key> keys = new TreeSet<>(stored.keySet());
+            keys.addAll(computed.keySet());
+            List<Key> mismatches = new ArrayList<>();
+            for (Key key : keys) {
+                Totals before = stored.getOrDefault(key, Totals.ZERO);
+                Totals after = computed.getOrDefault(key, Totals.ZERO);
+                if (!before.sameAs(after)) {
+                    mismatches.add(key);
+                }
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM payroll_period_summary");
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO payroll_period_summary " +
+                            "(periode, departement, nombre_bulletins, salaire_brut, primes, retenues, salaire_net) " +
+                            "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                for (Map.Entry<Key, Totals> entry : computed.entrySet()) {
+                    Totals totals = entry.getValue();
+                    insert.setString(1, entry.getKey().periode());
+                    insert.setString(2, entry.getKey().departement());
+                    insert.setLong(3, totals.nombreBulletins());
+                    insert.setBigDecimal(4, totals.salaireBrut());
+                    insert.setBigDecimal(5, totals.primes());
+                    insert.setBigDecimal(6, totals.retenues());
+                    insert.setBigDecimal(7, totals.salaireNet());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            return new RebuildResult(computed.size(), mismatches);
+        });
+    }
+
+    private static Map<Key, Totals> compute(Connection connection, String where, Integer id) throws SQLException {
+        Map<Key, Totals> totals = new TreeMap<>();
+        try (PreparedStatement query = connection.prepareStatement(String.format(COMPUTE_SQL, where))) {
+            if (id != null) {
+                query.setInt(1, id);
+            }
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    totals.put(new Key(rs.getString(1), rs.getString(2)), readTotals(rs, 3));
+                }
+            }
+        }
+        return totals;
+    }
+
+    private static Totals readTotals(ResultSet rs, int first) throws SQLException {
+        return new Totals(rs.getLong(first), amount(rs, first + 1), amount(rs, first + 2), amount(rs, first + 3),
+                amount(rs, first + 4));
+    }
+
+    private static BigDecimal amount(ResultSet rs, int column) throws SQLException {
+        return Objects.requireNonNullElse(rs.getBigDecimal(column), BigDecimal.ZERO);
+    }
+}
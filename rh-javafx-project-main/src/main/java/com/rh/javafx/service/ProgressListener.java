@@ -0,0 +1,15 @@
+package com.rh.javafx.service;
+
+/**
+ * Callback used by long-running service operations to report progress
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    ProgressListener NONE = (done, total) -> { };
+
+    /**
+     * Called after each processed chunk with the number of items done so far
+     */
+    void onProgress(long done, long total);
+}
@@ -0,0 +1,46 @@
+package com.rh.javafx.service;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Failure of a service call, thrown by the services and passed on by the asynchronous services
+ * The message names the failed operation, the reason is the root cause (e.g. "Solde de congés insuffisant").
+ */
+public class ServiceException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ServiceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Normalize any failure, unwrapping the exceptions added by futures
+     */
+    public static ServiceException from(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof ServiceException serviceException) {
+            return serviceException;
+        }
+        String message = cause.getMessage() != null ? cause.getMessage() : "Erreur inattendue";
+        return new ServiceException(message, cause);
+    }
+
+    /**
+     * The innermost message of the cause chain
+     */
+    public String getReason() {
+        String reason = getMessage();
+        for (Throwable cause = getCause(); cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null) {
+                reason = cause.getMessage();
+            }
+        }
+        return reason;
+    }
+}
@@ -0,0 +1,28 @@
+package com.rh.javafx.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes an export row by row, holding no more than its output buffer
+ * close() completes the file but leaves the output stream open, the caller owns it.
+ */
+interface TableWriter extends AutoCloseable {
+
+    /**
+     * Write one row; cells are strings, numbers, dates, enums or null, in header order
+     */
+    void writeRow(Object[] cells) throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    static TableWriter create(ExportService.Format format, OutputStream out, List<String> headers)
+            throws IOException {
+        return switch (format) {
+            case CSV -> new CsvTableWriter(out, headers);
+            case XLSX -> new XlsxTableWriter(out, headers);
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package com.rh.javafx.util;
+
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Runs data loading off the JavaFX Application Thread, on the ServiceExecutor threads
+ * Loads are keyed: starting a new load for a key cancels the stale one still in flight.
+ * Writes are keyed too but never cancelled, since an interrupt could stop them halfway through a batch:
+ * a second write for a key is refused while the first one runs. Instances must be used from the JavaFX
+ * Application Thread only.
+ */
+public class AsyncLoader {
+
+    private final Map<String, Task<?>> runningTasks = new HashMap<>();
+    private final Map<String, Task<?>> runningWrites = new HashMap<>();
+
+    /**
+     * Load data in the background and deliver it on the JavaFX Application Thread
+     */
+    public <T> Task<T> load(String key, Callable<T> loader, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return loader.call();
+            }
+        };
+        return submit(key, task, onSuccess, onError);
+    }
+
+    /**
+     * Run a prepared task in the background, e.g. one that reports progress
+     */
+    public <T> Task<T> submit(String key, Task<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        cancel(key);
+        return start(runningTasks, key, task, onSuccess, onError);
+    }
+
+    /**
+     * Run a database write in the background and deliver its result on the JavaFX Application Thread
+     * Returns null without running it when a write for the same key is still in flight.
+     */
+    public <T> Task<T> write(String key, Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+        return submitWrite(key, task, onSuccess, onError);
+    }
+
+    /**
+     * Run a prepared write task in the background; it runs to the end, even through cancelAll()
+     * Returns null without running it when a write for the same key is still in flight.
+     */
+    public <T> Task<T> submitWrite(String key, Task<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        if (runningWrites.containsKey(key)) {
+            return null;
+        }
+        return start(runningWrites, key, task, onSuccess, onError);
+    }
+
+    private <T> Task<T> start(Map<String, Task<?>> running, String key, Task<T> task,
+                              Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        task.setOnSucceeded(event -> {
+            if (running.get(key) == task) {
+                running.remove(key);
+                onSuccess.accept(task.getValue());
+            }
+        });
+        task.setOnFailed(event -> {
+            if (running.get(key) == task) {
+                running.remove(key);
+                onError.accept(task.getException());
+            }
+        });
+
+        running.put(key, task);
+        try {
+            ServiceExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            running.remove(key);
+            Platform.runLater(() -> onError.accept(e));
+        }
+        return task;
+    }
+
+    /**
+     * Cancel the load in flight for a key, if any
+     */
+    public void cancel(String key) {
+        Task<?> previous = runningTasks.remove(key);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+    }
+
+    /**
+     * Cancel every load started by this loader; writes in flight run to the end
+     */
+    public void cancelAll() {
+        runningTasks.values().forEach(task -> task.cancel(true));
+        runningTasks.clear();
+    }
+
+    /**
+     * Check if a load or a write is in flight for a key
+     */
+    public boolean isLoading(String key) {
+        return runningTasks.containsKey(key) || runningWrites.containsKey(key);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.rh.javafx.util;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate second-level and query cache hit/miss statistics
+ */
+public record CacheMetrics(long secondLevelHits, long secondLevelMisses, long secondLevelPuts,
+                           long queryHits, long queryMisses, long queryPuts,
+                           Map<String, RegionMetrics> regions) {
+
+    /**
+     * Hit/miss counters and size of a single cache region
+     */
+    public record RegionMetrics(long hits, long misses, long puts, long elementsInMemory) {
+
+        public double hitRatio() {
+            return ratio(hits, misses);
+        }
+    }
+
+    /**
+     * Build the metrics from the SessionFactory statistics
+     */
+    public static CacheMetrics from(Statistics statistics) {
+        Map<String, RegionMetrics> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.put(regionName, new RegionMetrics(
+                        region.getHitCount(), region.getMissCount(),
+                        region.getPutCount(), region.getElementCountInMemory()));
+            }
+        }
+        return new CacheMetrics(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount(),
+                Map.copyOf(regions));
+    }
+
+    public double secondLevelHitRatio() {
+        return ratio(secondLevelHits, secondLevelMisses);
+    }
+
+    public double queryHitRatio() {
+        return ratio(queryHits, queryMisses);
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Cache[L2 hits=%d, misses=%d, puts=%d (%.0f%%), requêtes hits=%d, misses=%d, puts=%d (%.0f%%)]",
+                secondLevelHits, secondLevelMisses, secondLevelPuts, secondLevelHitRatio() * 100,
+                queryHits, queryMisses, queryPuts, queryHitRatio() * 100);
+    }
+}
@@ -1,19 +1,48 @@
 package com.rh.javafx.util;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.PessimisticLockException;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
-import org.hibernate.cfg.Configuration;
+import org.hibernate.StaleStateException;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.cfgxml.spi.LoadedConfig;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.exception.LockAcquisitionException;
+import org.hibernate.graph.GraphSemantic;
+
+import javax.persistence.OptimisticLockException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
  * Hibernate Utility class with a SessionFactory singleton
+ * The SessionFactory runs on a HikariCP pooled DataSource
  */
 public class HibernateUtil {
 
+    private static final String HIKARI_PREFIX = "hibernate.hikari.";
+    private static final int CONFLICT_ATTEMPTS = 5;
+
     private static SessionFactory sessionFactory;
+    private static HikariDataSource dataSource;
+    private static final PoolMetrics poolMetrics = new PoolMetrics();
 
     static {
+        StandardServiceRegistry registry = null;
         try {
-            // Create the SessionFactory from hibernate.cfg.xml
-            Configuration configuration = new Configuration().configure("hibernate.cfg.xml");
+            // Read the settings and mappings of hibernate.cfg.xml
+            StandardServiceRegistryBuilder registryBuilder = new StandardServiceRegistryBuilder();
+            LoadedConfig cfgXml = registryBuilder.getConfigLoader().loadConfigXmlResource("hibernate.cfg.xml");
+            Properties settings = new Properties();
+            settings.putAll(cfgXml.getConfigurationValues());
 
             // Override database connection properties from environment variables if present
             String dbHost = System.getenv("DB_HOST");
@@ -27,26 +56,85 @@ public class HibernateUtil {
                     "jdbc:mysql://%s:%s/%s?createDatabaseIfNotExist=true&useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true",
                     dbHost, dbPort, dbName
                 );
-                configuration.setProperty("hibernate.connection.url", jdbcUrl);
+                settings.setProperty("hibernate.connection.url", jdbcUrl);
                 System.out.println("Using database URL from environment: " + jdbcUrl);
             }
 
             if (dbUser != null) {
-                configuration.setProperty("hibernate.connection.username", dbUser);
+                settings.setProperty("hibernate.connection.username", dbUser);
             }
 
             if (dbPassword != null) {
-                configuration.setProperty("hibernate.connection.password", dbPassword);
+                settings.setProperty("hibernate.connection.password", dbPassword);
             }
 
-            sessionFactory = configuration.buildSessionFactory();
+            // Override pool sizing from environment variables if present
+            overrideFromEnv(settings, "DB_POOL_MAX_SIZE", HIKARI_PREFIX + "maximumPoolSize");
+            overrideFromEnv(settings, "DB_POOL_MIN_IDLE", HIKARI_PREFIX + "minimumIdle");
+            overrideFromEnv(settings, "DB_POOL_CONNECTION_TIMEOUT", HIKARI_PREFIX + "connectionTimeout");
+            overrideFromEnv(settings, "DB_POOL_LEAK_DETECTION", HIKARI_PREFIX + "leakDetectionThreshold");
+
+            dataSource = createDataSource(settings);
+            // Credentials live in the pool; Hibernate would otherwise call getConnection(user, password)
+            for (String setting : List.of(AvailableSettings.USER, AvailableSettings.PASS)) {
+                settings.remove(setting);
+                cfgXml.getConfigurationValues().remove(setting);
+            }
+            settings.put(AvailableSettings.DATASOURCE, dataSource);
+
+            registry = registryBuilder.configure(cfgXml).applySettings(settings).build();
+            sessionFactory = new MetadataSources(registry).buildMetadata().buildSessionFactory();
             System.out.println("SessionFactory créée avec succès!");
+
+            // Indexes and other changes hbm2ddl does not manage
+            new SchemaMigration(dataSource).migrate();
         } catch (Throwable ex) {
             System.err.println("Échec de création de SessionFactory: " + ex);
+            if (sessionFactory != null) {
+                sessionFactory.close();
+            } else if (registry != null) {
+                StandardServiceRegistryBuilder.destroy(registry);
+            }
+            if (dataSource != null) {
+                dataSource.close();
+            }
             throw new ExceptionInInitializerError(ex);
         }
     }
 
+    /**
+     * Build the HikariCP DataSource from the hibernate.connection.* and hibernate.hikari.* properties
+     */
+    private static HikariDataSource createDataSource(Properties settings) {
+        Properties hikariProperties = new Properties();
+        settings.forEach((key, value) -> {
+            String name = key.toString();
+            if (name.startsWith(HIKARI_PREFIX)) {
+                hikariProperties.setProperty(name.substring(HIKARI_PREFIX.length()), value.toString());
+            }
+        });
+
+        HikariConfig config = new HikariConfig(hikariProperties);
+        config.setPoolName("rh-pool");
+        config.setDriverClassName(settings.getProperty("hibernate.connection.driver_class"));
+        config.setJdbcUrl(settings.getProperty("hibernate.connection.url"));
+        config.setUsername(settings.getProperty("hibernate.connection.username"));
+        config.setPassword(settings.getProperty("hibernate.connection.password"));
+        config.setMetricsTrackerFactory(poolMetrics);
+
+        HikariDataSource hikariDataSource = new HikariDataSource(config);
+        System.out.println("Pool de connexions initialisé: max=" + config.getMaximumPoolSize() +
+                ", minIdle=" + config.getMinimumIdle());
+        return hikariDataSource;
+    }
+
+    private static void overrideFromEnv(Properties settings, String envName, String property) {
+        String value = System.getenv(envName);
+        if (value != null && !value.isBlank()) {
+            settings.setProperty(property, value.trim());
+        }
+    }
+
     /**
      * Get the SessionFactory instance
      */
@@ -54,13 +142,94 @@ public class HibernateUtil {
         return sessionFactory;
     }
 
+    /**
+     * Hints for Session.find() loading the attributes of a named entity graph
+     */
+    public static Map<String, Object> fetchGraph(Session session, String graphName) {
+        return Map.of(GraphSemantic.FETCH.getJpaHintName(), session.getEntityGraph(graphName));
+    }
+
+    /**
+     * Roll back a failed transaction without hiding the error that made it fail
+     * Once the session is closed the rollback itself throws; HikariCP has then already
+     * rolled the connection back when it was returned to the pool.
+     */
+    public static void rollback(Transaction transaction, Exception cause) {
+        if (transaction == null) {
+            return;
+        }
+        try {
+            transaction.rollback();
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Run a unit of work again when a concurrent transaction changed or locked the same rows
+     * The work must open its own session and transaction, so that each attempt reads the current rows.
+     */
+    public static <T> T retryOnConflict(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.get();
+            } catch (RuntimeException e) {
+                if (attempt == CONFLICT_ATTEMPTS || !isConflict(e)) {
+                    throw e;
+                }
+                System.out.println("Conflit de mise à jour concurrente, nouvelle tentative (" +
+                        attempt + "/" + CONFLICT_ATTEMPTS + ")");
+                try {
+                    // Randomized so that the conflicting transactions do not collide again
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20L * attempt));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tell whether a failure comes from a stale version, a deadlock or a lock timeout
+     */
+    public static boolean isConflict(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof StaleStateException || cause instanceof OptimisticLockException
+                    || cause instanceof LockAcquisitionException || cause instanceof PessimisticLockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get current connection pool metrics (active, idle, wait time)
+     */
+    public static PoolMetrics.Snapshot getPoolMetrics() {
+        return poolMetrics.snapshot();
+    }
+
+    /**
+     * Get second-level and query cache hit/miss statistics
+     */
+    public static CacheMetrics getCacheMetrics() {
+        return CacheMetrics.from(sessionFactory.getStatistics());
+    }
+
     /**
      * Shutdown the SessionFactory
      */
     public static void shutdown() {
         if (sessionFactory != null && !sessionFactory.isClosed()) {
+            System.out.println(getCacheMetrics());
             sessionFactory.close();
             System.out.println("SessionFactory fermée.");
         }
+        if (dataSource != null && !dataSource.isClosed()) {
+            System.out.println(getPoolMetrics());
+            dataSource.close();
+            System.out.println("Pool de connexions fermé.");
+        }
     }
 }
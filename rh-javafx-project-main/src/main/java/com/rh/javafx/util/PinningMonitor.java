@@ -0,0 +1,58 @@
+package com.rh.javafx.util;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads pinned to their carrier, e.g. blocking on I/O inside a synchronized block
+ * Uses the JFR jdk.VirtualThreadPinned event, which only fires for pins longer than the threshold.
+ */
+class PinningMonitor {
+
+    private static final int FRAMES = 6;
+
+    private final LongAdder pinnedCount = new LongAdder();
+    private final RecordingStream stream = new RecordingStream();
+
+    PinningMonitor(Duration threshold) {
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", event -> {
+            pinnedCount.increment();
+            System.err.println("Thread virtuel épinglé pendant " + event.getDuration().toMillis() + " ms:\n"
+                    + topFrames(event.getStackTrace()));
+        });
+    }
+
+    void start() {
+        // startAsync() would use a non-daemon thread and keep the JVM alive
+        Thread.ofPlatform().daemon().name("rh-pinning-monitor").start(stream::start);
+    }
+
+    long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    void close() {
+        stream.close();
+    }
+
+    private static String topFrames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "    (pile indisponible)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        // The parking frames of VirtualThread itself say nothing about who pinned it
+        return frames.stream()
+                .dropWhile(frame -> frame.getMethod().getType().getName().equals("java.lang.VirtualThread"))
+                .limit(FRAMES)
+                .map(frame -> "    at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + "(ligne " + frame.getLineNumber() + ")")
+                .collect(Collectors.joining("\n"));
+    }
+}
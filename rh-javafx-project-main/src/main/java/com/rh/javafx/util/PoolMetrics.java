@@ -0,0 +1,80 @@
+package com.rh.javafx.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Connection pool metrics collected from HikariCP
+ * Tracks pool occupancy and how long callers wait to acquire a connection
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private volatile PoolStats poolStats;
+
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong acquireNanosTotal = new AtomicLong();
+    private final LongAccumulator acquireNanosMax = new LongAccumulator(Long::max, 0);
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    /**
+     * Point-in-time view of the pool
+     */
+    public record Snapshot(int active, int idle, int total, int pending, int max,
+                           long acquisitions, double averageWaitMillis, double maxWaitMillis,
+                           long timeouts) {
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "Pool[actives=%d, inactives=%d, total=%d/%d, en attente=%d, " +
+                            "acquisitions=%d, attente moy=%.2f ms, attente max=%.2f ms, timeouts=%d]",
+                    active, idle, total, max, pending, acquisitions, averageWaitMillis, maxWaitMillis, timeouts);
+        }
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireCount.incrementAndGet();
+                acquireNanosTotal.addAndGet(elapsedAcquiredNanos);
+                acquireNanosMax.accumulate(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeoutCount.incrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Take a snapshot of the current pool state and acquisition statistics
+     */
+    public Snapshot snapshot() {
+        PoolStats stats = poolStats;
+        long count = acquireCount.get();
+        double average = count == 0 ? 0.0 : toMillis(acquireNanosTotal.get()) / count;
+        return new Snapshot(
+                stats != null ? stats.getActiveConnections() : 0,
+                stats != null ? stats.getIdleConnections() : 0,
+                stats != null ? stats.getTotalConnections() : 0,
+                stats != null ? stats.getPendingThreads() : 0,
+                stats != null ? stats.getMaxConnections() : 0,
+                count,
+                average,
+                toMillis(acquireNanosMax.get()),
+                timeoutCount.get());
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,124 @@
+package com.rh.javafx.util;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Versioned schema migrations run at startup, after Hibernate has created the tables
+ * Each script in db/migration runs once; applied versions are recorded in the schema_version table.
+ */
+public class SchemaMigration {
+
+    private static final String MIGRATION_PATH = "db/migration/";
+
+    // Add new scripts at the end, never change an applied one
+    private static final List<String> SCRIPTS = List.of(
+            "V1__index_requetes_frequentes.sql",
+            "V2__payroll_period_summary.sql",
+            "V3__payroll_period_lock.sql"
+    );
+
+    private final DataSource dataSource;
+
+    public SchemaMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Apply the scripts that have not run yet on this database
+     */
+    public void migrate() {
+        try (Connection connection = dataSource.getConnection()) {
+            createVersionTable(connection);
+            Set<Integer> applied = appliedVersions(connection);
+            for (String script : SCRIPTS) {
+                int version = versionOf(script);
+                if (!applied.contains(version)) {
+                    apply(connection, version, script);
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Erreur lors de la migration du schéma", e);
+        }
+    }
+
+    private void createVersionTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                    "version INT NOT NULL PRIMARY KEY, " +
+                    "script VARCHAR(255) NOT NULL, " +
+                    "installed_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private Set<Integer> appliedVersions(Connection connection) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT version FROM schema_version")) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    private void apply(Connection connection, int version, String script) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : readStatements(script)) {
+                statement.execute(sql);
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO schema_version (version, script) VALUES (?, ?)")) {
+            insert.setInt(1, version);
+            insert.setString(2, script);
+            insert.executeUpdate();
+        }
+        System.out.println("Migration appliquée: " + script);
+    }
+
+    private static int versionOf(String script) {
+        return Integer.parseInt(script.substring(1, script.indexOf("__")));
+    }
+
+    private static List<String> readStatements(String script) throws IOException {
+        String content;
+        try (InputStream in = SchemaMigration.class.getClassLoader().getResourceAsStream(MIGRATION_PATH + script)) {
+            if (in == null) {
+                throw new IOException("Script de migration introuvable: " + script);
+            }
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        // Statements end with ';', lines starting with '--' are comments
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : content.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(trimmed).append(' ');
+            if (trimmed.endsWith(";")) {
+                current.setLength(current.length() - 2);
+                statements.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+}
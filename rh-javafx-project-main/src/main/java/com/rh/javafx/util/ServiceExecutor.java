@@ -0,0 +1,259 @@
+package com.rh.javafx.util;
+
+import com.rh.javafx.service.ServiceException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Bounded, instrumented executor behind the asynchronous service facades and the AsyncLoader of the screens
+ * Runs the blocking service calls on a fixed platform pool, or on one virtual thread per call
+ * (SERVICE_EXECUTOR_MODE=virtual). Futures fail with a ServiceException, whatever the service threw.
+ * Every background database access goes through this one executor, so SERVICE_POOL_SIZE alone is sized
+ * against the DB_POOL_MAX_SIZE connections.
+ */
+public final class ServiceExecutor {
+
+    /**
+     * Threads the service calls run on
+     */
+    public enum Mode {
+        PLATFORM, VIRTUAL
+    }
+
+    private static final int DEFAULT_POOL_SIZE = 8;
+    private static final int QUEUE_CAPACITY = 256;
+    private static final int DEFAULT_PINNING_THRESHOLD_MS = 20;
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private static final LongAdder submitted = new LongAdder();
+    private static final LongAdder completed = new LongAdder();
+    private static final LongAdder failed = new LongAdder();
+    private static final LongAdder rejected = new LongAdder();
+    private static final LongAdder waitNanos = new LongAdder();
+    private static final LongAdder runNanos = new LongAdder();
+    private static final LongAccumulator maxRunNanos = new LongAccumulator(Long::max, 0);
+    private static final AtomicInteger running = new AtomicInteger();
+    private static final AtomicInteger inFlight = new AtomicInteger();
+
+    private static final Mode MODE = modeFromEnv();
+    // Keep SERVICE_POOL_SIZE at or below DB_POOL_MAX_SIZE, extra threads would only wait for a connection
+    private static final int POOL_SIZE = Math.max(1, intFromEnv("SERVICE_POOL_SIZE", DEFAULT_POOL_SIZE));
+    // Virtual threads are not pooled, so this bounds the calls in flight the way the queue does for the pool
+    private static final Semaphore admissions = new Semaphore(POOL_SIZE + QUEUE_CAPACITY);
+    private static final ExecutorService EXECUTOR = createExecutor();
+    private static final PinningMonitor pinningMonitor = createPinningMonitor();
+
+    /**
+     * Point-in-time view of the executor load and task timings
+     */
+    public record Snapshot(Mode mode, int active, int queued, long submitted, long completed, long failed,
+                           long rejected, double averageWaitMillis, double averageRunMillis, double maxRunMillis,
+                           long pinned) {
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "Services[mode=%s, actives=%d, en attente=%d, soumises=%d, terminées=%d, échecs=%d, " +
+                            "rejetées=%d, attente moy=%.1fms, exécution moy=%.1fms, max=%.1fms, épinglages=%d]",
+                    mode, active, queued, submitted, completed, failed, rejected,
+                    averageWaitMillis, averageRunMillis, maxRunMillis, pinned);
+        }
+    }
+
+    private ServiceExecutor() {
+    }
+
+    private static ExecutorService createExecutor() {
+        if (MODE == Mode.VIRTUAL) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("rh-service-v-", 1).factory());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "rh-service-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                POOL_SIZE, POOL_SIZE, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // Pinning only matters for virtual threads; SERVICE_PINNING_THRESHOLD_MS=0 turns the monitor off
+    private static PinningMonitor createPinningMonitor() {
+        int thresholdMillis = intFromEnv("SERVICE_PINNING_THRESHOLD_MS", DEFAULT_PINNING_THRESHOLD_MS);
+        if (MODE != Mode.VIRTUAL || thresholdMillis == 0) {
+            return null;
+        }
+        try {
+            PinningMonitor monitor = new PinningMonitor(Duration.ofMillis(thresholdMillis));
+            monitor.start();
+            return monitor;
+        } catch (RuntimeException e) {
+            System.err.println("Diagnostic d'épinglage indisponible: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Mode modeFromEnv() {
+        String value = System.getenv("SERVICE_EXECUTOR_MODE");
+        if (value != null && !value.isBlank()) {
+            try {
+                return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                System.err.println("SERVICE_EXECUTOR_MODE invalide: " + value);
+            }
+        }
+        return Mode.PLATFORM;
+    }
+
+    private static int intFromEnv(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value != null && !value.isBlank()) {
+            try {
+                return Math.max(0, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                System.err.println(name + " invalide: " + value);
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Run a blocking service call in the background
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            dispatch(() -> {
+                try {
+                    future.complete(call.call());
+                    return true;
+                } catch (Throwable e) {
+                    future.completeExceptionally(ServiceException.from(e));
+                    return false;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new ServiceException("Trop de requêtes en attente, réessayez", e));
+        }
+        return future;
+    }
+
+    /**
+     * Run a prepared task in the background, e.g. a JavaFX Task that handles its own outcome
+     * Throws RejectedExecutionException when too many calls are already waiting.
+     */
+    public static void execute(Runnable task) {
+        dispatch(() -> {
+            task.run();
+            return true;
+        });
+    }
+
+    // The body returns false when the call failed
+    private static void dispatch(BooleanSupplier body) {
+        long submittedAt = System.nanoTime();
+        submitted.increment();
+        if (!admissions.tryAcquire()) {
+            rejected.increment();
+            throw new RejectedExecutionException("Trop de requêtes en attente");
+        }
+        inFlight.incrementAndGet();
+        try {
+            EXECUTOR.execute(() -> {
+                long startedAt = System.nanoTime();
+                waitNanos.add(startedAt - submittedAt);
+                running.incrementAndGet();
+                try {
+                    if (body.getAsBoolean()) {
+                        completed.increment();
+                    } else {
+                        failed.increment();
+                    }
+                } finally {
+                    long elapsed = System.nanoTime() - startedAt;
+                    runNanos.add(elapsed);
+                    maxRunNanos.accumulate(elapsed);
+                    running.decrementAndGet();
+                    inFlight.decrementAndGet();
+                    admissions.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            admissions.release();
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Run a blocking service call without result in the background
+     */
+    public static CompletableFuture<Void> run(Runnable call) {
+        return supply(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Get the mode the service calls run in
+     */
+    public static Mode getMode() {
+        return MODE;
+    }
+
+    /**
+     * Get current executor metrics
+     */
+    public static Snapshot snapshot() {
+        int active = running.get();
+        long done = completed.sum() + failed.sum();
+        long started = done + active;
+        return new Snapshot(
+                MODE, active, Math.max(0, inFlight.get() - active),
+                submitted.sum(), completed.sum(), failed.sum(), rejected.sum(),
+                started == 0 ? 0.0 : waitNanos.sum() / 1_000_000.0 / started,
+                done == 0 ? 0.0 : runNanos.sum() / 1_000_000.0 / done,
+                maxRunNanos.get() / 1_000_000.0,
+                pinningMonitor == null ? 0 : pinningMonitor.getPinnedCount());
+    }
+
+    /**
+     * Stop the service threads, leaving the calls in flight a few seconds to commit
+     */
+    public static void shutdown() {
+        System.out.println(snapshot());
+        EXECUTOR.shutdown();
+        try {
+            if (!EXECUTOR.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                EXECUTOR.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            EXECUTOR.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            if (pinningMonitor != null) {
+                pinningMonitor.close();
+            }
+        }
+    }
+}
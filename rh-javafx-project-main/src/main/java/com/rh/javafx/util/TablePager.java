@@ -0,0 +1,202 @@
+package com.rh.javafx.util;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Loads a TableView page by page as the user scrolls down
+ * Pages are fetched with keyset pagination: each page starts after the last row already shown.
+ * The table shows the loaded rows through a filtered and sorted view; sorting stays client-side, while filters
+ * belong in the page loader so that each page is full of matching rows.
+ * Single-row changes are applied in place with put() and remove() instead of reloading every page.
+ */
+public class TablePager<T> {
+
+    /**
+     * Loads the page that follows the given row (null for the first page)
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        List<T> loadPage(T after, int pageSize);
+    }
+
+    // Fraction of the scroll range after which the next page is requested
+    private static final double SCROLL_THRESHOLD = 0.9;
+
+    private final TableView<T> table;
+    private final AsyncLoader loader;
+    private final String key;
+    private final int pageSize;
+    private final String emptyMessage;
+    private final Consumer<Throwable> onError;
+    private final Function<T, ?> idOf;
+    private final Comparator<? super T> order;
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    private final FilteredList<T> filtered = new FilteredList<>(items);
+    private final SortedList<T> view = new SortedList<>(filtered);
+
+    private PageLoader<T> pageLoader;
+    private boolean exhausted;
+
+    private TablePager(TableView<T> table, AsyncLoader loader, String key, int pageSize,
+                       String emptyMessage, Consumer<Throwable> onError,
+                       Function<T, ?> idOf, Comparator<? super T> order) {
+        this.table = table;
+        this.loader = loader;
+        this.key = key;
+        this.pageSize = pageSize;
+        this.emptyMessage = emptyMessage;
+        this.onError = onError;
+        this.idOf = idOf;
+        this.order = order;
+    }
+
+    /**
+     * Create a pager for the table; idOf identifies a row across reloads, order must match the ORDER BY
+     * of the page loader
+     */
+    public static <T> TablePager<T> attach(TableView<T> table, AsyncLoader loader, String key, int pageSize,
+                                           String emptyMessage, Consumer<Throwable> onError,
+                                           Function<T, ?> idOf, Comparator<? super T> order) {
+        TablePager<T> pager = new TablePager<>(table, loader, key, pageSize, emptyMessage, onError, idOf, order);
+        // Listeners are registered once the pager is fully constructed
+        pager.view.comparatorProperty().bind(table.comparatorProperty());
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            if (newSkin != null) {
+                pager.attachScrollListener();
+            }
+        });
+        return pager;
+    }
+
+    /**
+     * Start over from the first page, using a new page loader
+     */
+    public void reset(PageLoader<T> newPageLoader) {
+        this.pageLoader = newPageLoader;
+        reset();
+    }
+
+    /**
+     * Start over from the first page
+     */
+    public void reset() {
+        PageLoader<T> current = pageLoader;
+        loader.load(key, () -> current.loadPage(null, pageSize),
+                page -> {
+                    exhausted = page.size() < pageSize;
+                    items.setAll(page);
+                    table.setPlaceholder(new Label(emptyMessage));
+                    table.setItems(view);
+                    // Force table to refresh so UI shows immediate changes
+                    table.refresh();
+                    fillView();
+                },
+                onError);
+    }
+
+    /**
+     * Fetch the next page, unless everything is loaded or a load is already running
+     */
+    public void loadNextPage() {
+        if (exhausted || items.isEmpty() || !isShown() || loader.isLoading(key)) {
+            return;
+        }
+        PageLoader<T> current = pageLoader;
+        T last = items.get(items.size() - 1);
+        loader.load(key, () -> current.loadPage(last, pageSize),
+                page -> {
+                    exhausted = page.size() < pageSize;
+                    items.addAll(page);
+                },
+                onError);
+    }
+
+    /**
+     * Add a new row or replace the loaded row with the same id, keeping the database order
+     * A row sorting after the last loaded one is left for the page that will contain it.
+     */
+    public void put(T row) {
+        remove(row);
+        int index = Collections.binarySearch(items, row, order);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (index < items.size() || exhausted) {
+            items.add(index, row);
+        }
+    }
+
+    /**
+     * Remove the loaded row with the same id as the given row
+     */
+    public void remove(T row) {
+        Object id = idOf.apply(row);
+        removeIf(item -> Objects.equals(idOf.apply(item), id));
+    }
+
+    /**
+     * Remove every loaded row matching the predicate
+     */
+    public void removeIf(Predicate<? super T> predicate) {
+        items.removeIf(predicate);
+    }
+
+    /**
+     * Check if the table shows the paged rows, rather than e.g. search results
+     */
+    public boolean isShown() {
+        return table.getItems() == view;
+    }
+
+    /**
+     * Show only the loaded rows matching the predicate (null shows all), without going to the database
+     * Use the same condition as the page loader, so that rows changed with put() leave the view when they
+     * no longer match; the pager is not reloaded.
+     */
+    public void setFilter(Predicate<? super T> predicate) {
+        filtered.setPredicate(predicate);
+    }
+
+    // Rows hidden by the filter can leave less than a page on screen and no scroll bar to trigger the next load;
+    // only runs after a reset, so it fetches at most one more page
+    private void fillView() {
+        if (filtered.size() < pageSize) {
+            loadNextPage();
+        }
+    }
+
+    /**
+     * The rows loaded so far, unfiltered and in database order
+     */
+    public ObservableList<T> getItems() {
+        return items;
+    }
+
+    private void attachScrollListener() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar scrollBar && scrollBar.getOrientation() == Orientation.VERTICAL) {
+                scrollBar.valueProperty().addListener((obs, oldValue, value) -> {
+                    if (value.doubleValue() >= scrollBar.getMax() * SCROLL_THRESHOLD) {
+                        loadNextPage();
+                    }
+                });
+            }
+        }
+    }
+}
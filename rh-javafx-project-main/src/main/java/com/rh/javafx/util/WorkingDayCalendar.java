@@ -0,0 +1,172 @@
+package com.rh.javafx.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Working days, Monday to Friday except public holidays, used to count the days a leave takes
+ * Each year is precomputed once as a bitset of its working days with a running count per 64-day word,
+ * so counting the working days of a range is O(1) per year it spans.
+ * Holidays are read from the calendar/jours-feries.txt resource, or from the file named by HOLIDAYS_FILE.
+ */
+public final class WorkingDayCalendar {
+
+    private static final String HOLIDAYS_RESOURCE = "calendar/jours-feries.txt";
+
+    private static final WorkingDayCalendar DEFAULT = load();
+
+    private final Set<MonthDay> recurringHolidays;
+    private final Set<LocalDate> holidays;
+    private final ConcurrentHashMap<Integer, YearDays> years = new ConcurrentHashMap<>();
+
+    /**
+     * Working days of one year; bit i of the bitset is day i of the year, counted from 0
+     */
+    private static final class YearDays {
+
+        private final long[] words;
+        // Working days in the words before each word
+        private final int[] counts;
+        private final int total;
+
+        YearDays(int year, WorkingDayCalendar calendar) {
+            LocalDate first = LocalDate.of(year, 1, 1);
+            int length = first.lengthOfYear();
+            // One spare word, so that the count up to the end of the year has a word to look at
+            words = new long[length / 64 + 1];
+            for (int day = 0; day < length; day++) {
+                if (calendar.isWorkingDayUncached(first.plusDays(day))) {
+                    words[day >>> 6] |= 1L << (day & 63);
+                }
+            }
+            counts = new int[words.length];
+            for (int i = 1; i < words.length; i++) {
+                counts[i] = counts[i - 1] + Long.bitCount(words[i - 1]);
+            }
+            total = countBefore(length);
+        }
+
+        // Working days among the first n days of the year
+        int countBefore(int n) {
+            int word = n >>> 6;
+            long below = (1L << (n & 63)) - 1;
+            return counts[word] + Long.bitCount(words[word] & below);
+        }
+
+        boolean isWorkingDay(int day) {
+            return (words[day >>> 6] & (1L << (day & 63))) != 0;
+        }
+    }
+
+    private WorkingDayCalendar(Set<MonthDay> recurringHolidays, Set<LocalDate> holidays) {
+        this.recurringHolidays = recurringHolidays;
+        this.holidays = holidays;
+    }
+
+    /**
+     * Get the calendar loaded from the configured holiday file
+     */
+    public static WorkingDayCalendar getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Build a calendar from the lines of a holiday file
+     * Lines hold an MM-DD (every year) or YYYY-MM-DD date followed by an optional label; '#' starts a comment.
+     */
+    public static WorkingDayCalendar parse(List<String> lines) {
+        Set<MonthDay> recurring = new HashSet<>();
+        Set<LocalDate> dated = new HashSet<>();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String date = trimmed.split("\\s+", 2)[0];
+            try {
+                if (date.length() == 5) {
+                    recurring.add(MonthDay.parse("--" + date));
+                } else {
+                    dated.add(LocalDate.parse(date));
+                }
+            } catch (DateTimeParseException e) {
+                System.err.println("Jour férié invalide ignoré: " + line);
+            }
+        }
+        return new WorkingDayCalendar(recurring, dated);
+    }
+
+    private static WorkingDayCalendar load() {
+        String file = System.getenv("HOLIDAYS_FILE");
+        try {
+            List<String> lines;
+            if (file != null && !file.isBlank()) {
+                lines = Files.readAllLines(Path.of(file.trim()), StandardCharsets.UTF_8);
+            } else {
+                try (InputStream in = WorkingDayCalendar.class.getClassLoader().getResourceAsStream(HOLIDAYS_RESOURCE)) {
+                    if (in == null) {
+                        throw new IOException("Fichier des jours fériés introuvable: " + HOLIDAYS_RESOURCE);
+                    }
+                    lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+                }
+            }
+            WorkingDayCalendar calendar = parse(lines);
+            System.out.println("Jours fériés chargés: " + calendar.recurringHolidays.size() + " annuels, " +
+                    calendar.holidays.size() + " datés");
+            return calendar;
+        } catch (IOException e) {
+            // Weekends are still excluded, only the holidays are missing
+            System.err.println("Jours fériés non chargés, seuls les week-ends sont exclus: " + e.getMessage());
+            return new WorkingDayCalendar(Set.of(), Set.of());
+        }
+    }
+
+    /**
+     * Tell whether a day is a working day
+     */
+    public boolean isWorkingDay(LocalDate date) {
+        return year(date.getYear()).isWorkingDay(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * Count the working days from debut to fin, both included; 0 when fin is before debut
+     */
+    public int countWorkingDays(LocalDate debut, LocalDate fin) {
+        if (fin.isBefore(debut)) {
+            return 0;
+        }
+        int from = debut.getDayOfYear() - 1;
+        int to = fin.getDayOfYear();
+        if (debut.getYear() == fin.getYear()) {
+            YearDays year = year(debut.getYear());
+            return year.countBefore(to) - year.countBefore(from);
+        }
+        YearDays first = year(debut.getYear());
+        int count = first.total - first.countBefore(from);
+        for (int y = debut.getYear() + 1; y < fin.getYear(); y++) {
+            count += year(y).total;
+        }
+        return count + year(fin.getYear()).countBefore(to);
+    }
+
+    private YearDays year(int year) {
+        return years.computeIfAbsent(year, y -> new YearDays(y, this));
+    }
+
+    private boolean isWorkingDayUncached(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY
+                && !recurringHolidays.contains(MonthDay.from(date)) && !holidays.contains(date);
+    }
+}
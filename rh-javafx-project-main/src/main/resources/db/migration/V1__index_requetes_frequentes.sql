@@ -0,0 +1,16 @@
+-- Composite indexes matching the filters and sort orders of the service queries
+
+-- Leaves: status filter sorted by start date, per-employee history, type filter, keyset paging
+CREATE INDEX idx_conge_statut_date_debut ON conge (statut, date_debut, id);
+CREATE INDEX idx_conge_employe_date_debut ON conge (employe_id, date_debut);
+CREATE INDEX idx_conge_type_date_debut ON conge (type_conge, date_debut);
+CREATE INDEX idx_conge_date_debut_id ON conge (date_debut, id);
+
+-- Payslips: per-employee history, period totals and duplicate check, net salary ranking, keyset paging
+CREATE INDEX idx_bulletin_employe_date_emission ON bulletin_paie (employe_id, date_emission);
+CREATE INDEX idx_bulletin_periode_employe ON bulletin_paie (periode, employe_id);
+CREATE INDEX idx_bulletin_salaire_net ON bulletin_paie (salaire_net);
+CREATE INDEX idx_bulletin_date_emission_id ON bulletin_paie (date_emission, id);
+
+-- Employees: alphabetical keyset paging
+CREATE INDEX idx_employe_nom_prenom ON employe (nom, prenom, id);
@@ -0,0 +1,20 @@
+-- Payslip totals per period and department, kept up to date by BulletinPaieService
+-- Employees without a department are stored under the empty department ''
+
+CREATE TABLE payroll_period_summary (
+    periode VARCHAR(20) NOT NULL,
+    departement VARCHAR(100) NOT NULL,
+    nombre_bulletins BIGINT NOT NULL,
+    salaire_brut DECIMAL(15, 2) NOT NULL,
+    primes DECIMAL(15, 2) NOT NULL,
+    retenues DECIMAL(15, 2) NOT NULL,
+    salaire_net DECIMAL(15, 2) NOT NULL,
+    PRIMARY KEY (periode, departement)
+);
+
+-- Initial content from the existing payslips
+INSERT INTO payroll_period_summary (periode, departement, nombre_bulletins, salaire_brut, primes, retenues, salaire_net)
+SELECT b.periode, COALESCE(e.departement, ''), COUNT(*), COALESCE(SUM(b.salaire_brut), 0),
+       COALESCE(SUM(b.primes), 0), COALESCE(SUM(b.retenues), 0), COALESCE(SUM(b.salaire_net), 0)
+FROM bulletin_paie b JOIN employe e ON e.id = b.employe_id
+GROUP BY b.periode, COALESCE(e.departement, '');
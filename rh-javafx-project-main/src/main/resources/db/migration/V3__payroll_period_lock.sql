@@ -0,0 +1,5 @@
+-- One row per period that had a payroll run; BulletinPaieService locks it so that runs of a period are serialized
+
+CREATE TABLE payroll_period_lock (
+    periode VARCHAR(20) NOT NULL PRIMARY KEY
+);
@@ -0,0 +1,151 @@
+package com.rh.javafx.bench;
+
+import com.rh.javafx.model.Conge.StatutConge;
+import com.rh.javafx.util.HibernateUtil;
+import com.sun.management.ThreadMXBean;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.jdbc.Work;
+
+import java.lang.management.ManagementFactory;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Data and timing helpers shared by the benchmarks
+ * Rows are inserted with JDBC batches; matricules and emails carry a per-run prefix, so a benchmark
+ * can run again on a database that already holds data.
+ */
+final class BenchData {
+
+    private static final String[] TYPES = {"Congé annuel", "Maladie", "Sans solde", "Maternité"};
+    private static final int BATCH_SIZE = 5000;
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private BenchData() {
+    }
+
+    /**
+     * Insert employees with a leave balance of 30 days and return their ids
+     */
+    static List<Integer> employes(int count) {
+        String prefix = "B" + Long.toString(System.currentTimeMillis(), 36) + "-";
+        List<Integer> ids = new ArrayList<>(count);
+        inTransaction(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO employe (matricule, nom, prenom, email, salaire_base, jours_conges_restants, version) " +
+                            "VALUES (?, ?, ?, ?, 1000, 30, 0)", new String[]{"id"})) {
+                for (int i = 0; i < count; i++) {
+                    insert.setString(1, prefix + i);
+                    insert.setString(2, "Nom" + (i % 37));
+                    insert.setString(3, "Prenom" + i);
+                    insert.setString(4, prefix + i + "@rh.bench");
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getInt(1));
+                    }
+                }
+            }
+        });
+        return ids;
+    }
+
+    /**
+     * Insert leaves of 1 to 10 days between 2020 and 2025, spread over the given employees
+     * The seed is fixed, so two runs insert the same leaves.
+     */
+    static void conges(List<Integer> employeIds, int count) {
+        Random random = new Random(1);
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        inTransaction(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO conge (date_debut, date_fin, type_conge, motif, statut, duree_jours, employe_id, version) " +
+                            "VALUES (?, ?, ?, ?, ?, ?, ?, 0)")) {
+                for (int i = 0; i < count; i++) {
+                    LocalDate debut = base.plusDays(random.nextInt(2000));
+                    int jours = 1 + random.nextInt(10);
+                    insert.setObject(1, debut);
+                    insert.setObject(2, debut.plusDays(jours - 1));
+                    insert.setString(3, TYPES[random.nextInt(TYPES.length)]);
+                    insert.setString(4, "Motif " + i);
+                    insert.setString(5, StatutConge.values()[random.nextInt(StatutConge.values().length)].name());
+                    insert.setInt(6, jours);
+                    insert.setInt(7, employeIds.get(random.nextInt(employeIds.size())));
+                    insert.addBatch();
+                    if (i % BATCH_SIZE == BATCH_SIZE - 1) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * Insert one payslip per employee and period, issued on the first day of the period
+     */
+    static void bulletins(List<Integer> employeIds, List<String> periodes) {
+        inTransaction(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO bulletin_paie (periode, date_emission, salaire_brut, retenues, primes, salaire_net, employe_id) " +
+                            "VALUES (?, ?, 1000, 200, 100, 900, ?)")) {
+                int rows = 0;
+                for (String periode : periodes) {
+                    LocalDate emission = LocalDate.parse(periode + "-01");
+                    for (Integer employeId : employeIds) {
+                        insert.setString(1, periode);
+                        insert.setObject(2, emission);
+                        insert.setInt(3, employeId);
+                        insert.addBatch();
+                        if (++rows % BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * Run JDBC work on a pooled connection, in one transaction
+     */
+    static void inTransaction(Work work) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.doWork(work);
+            transaction.commit();
+        }
+    }
+
+    /**
+     * Run a call twice to warm up, then report its best time over five runs and the memory
+     * the calling thread allocated during the last one
+     * The Hibernate caches are emptied before each run, so cached results do not hide the query.
+     */
+    static <T> T measure(String name, Supplier<T> call) {
+        call.get();
+        call.get();
+        long best = Long.MAX_VALUE;
+        long allocated = 0;
+        T result = null;
+        for (int i = 0; i < 5; i++) {
+            HibernateUtil.getSessionFactory().getCache().evictAllRegions();
+            long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            result = call.get();
+            best = Math.min(best, System.nanoTime() - start);
+            allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+        System.out.printf("%-36s %9.2f ms %9.1f Mo alloués%n", name, best / 1e6, allocated / 1e6);
+        return result;
+    }
+}
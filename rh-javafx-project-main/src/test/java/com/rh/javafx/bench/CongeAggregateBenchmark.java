@@ -0,0 +1,69 @@
+package com.rh.javafx.bench;
+
+import com.rh.javafx.model.Conge;
+import com.rh.javafx.model.Conge.StatutConge;
+import com.rh.javafx.model.CongeRow;
+import com.rh.javafx.service.CongeService;
+import com.rh.javafx.util.HibernateUtil;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Latency and allocations of the leave statistics, computed in SQL against loading every leave and
+ * aggregating it in memory as CongeService used to
+ * The benchmark inserts 100k leaves (-Dbench.conges) and checks that both ways give the same results.
+ */
+public class CongeAggregateBenchmark {
+
+    private static final int EMPLOYES = 1000;
+    private static final int CONGES = Integer.getInteger("bench.conges", 100_000);
+
+    public static void main(String[] args) {
+        try {
+            BenchData.conges(BenchData.employes(EMPLOYES), CONGES);
+            CongeService congeService = new CongeService();
+
+            System.out.println("-- avant: getAllConges et agrégation en mémoire");
+            int total = BenchData.measure("getTotalJoursConge", () -> congeService.getAllConges().stream()
+                    .filter(conge -> conge.getStatut() == StatutConge.APPROUVE)
+                    .mapToInt(Conge::getDureeJours).sum());
+            double average = BenchData.measure("getAverageDureeConge", () -> congeService.getAllConges().stream()
+                    .filter(conge -> conge.getStatut() == StatutConge.APPROUVE)
+                    .mapToInt(Conge::getDureeJours).average().orElse(0));
+            Map<String, Long> byType = BenchData.measure("getCongesCountByType", () -> congeService.getAllConges()
+                    .stream().collect(Collectors.groupingBy(Conge::getTypeConge, Collectors.counting())));
+            Map<StatutConge, List<Conge>> byStatut = BenchData.measure("getCongesGroupedByStatut",
+                    () -> congeService.getAllConges().stream().collect(Collectors.groupingBy(Conge::getStatut)));
+            List<Conge> ordered = BenchData.measure("getCongesOrderedByDate", () -> congeService.getAllConges()
+                    .stream().sorted(Comparator.comparing(Conge::getDateDebut)).toList());
+
+            System.out.println("-- après: agrégats SQL");
+            int sqlTotal = BenchData.measure("getTotalJoursConge", congeService::getTotalJoursConge);
+            double sqlAverage = BenchData.measure("getAverageDureeConge", congeService::getAverageDureeConge);
+            Map<String, Long> sqlByType = BenchData.measure("getCongesCountByType", congeService::getCongesCountByType);
+            Map<StatutConge, Long> sqlCountByStatut =
+                    BenchData.measure("getCongesCountByStatut", congeService::getCongesCountByStatut);
+            Map<StatutConge, List<CongeRow>> sqlByStatut =
+                    BenchData.measure("getCongesGroupedByStatut", congeService::getCongesGroupedByStatut);
+            List<CongeRow> sqlOrdered = BenchData.measure("getCongesOrderedByDate", congeService::getCongesOrderedByDate);
+
+            boolean sameStatuts = byStatut.keySet().stream().allMatch(statut ->
+                    byStatut.get(statut).size() == sqlByStatut.get(statut).size()
+                            && byStatut.get(statut).size() == sqlCountByStatut.get(statut));
+            boolean sameOrder = ordered.size() == sqlOrdered.size()
+                    && ordered.get(0).getDateDebut().equals(sqlOrdered.get(0).dateDebut())
+                    && ordered.get(ordered.size() - 1).getDateDebut()
+                    .equals(sqlOrdered.get(sqlOrdered.size() - 1).dateDebut());
+            System.out.println("Mêmes résultats: total " + (total == sqlTotal)
+                    + ", moyenne " + (Math.abs(average - sqlAverage) < 1e-9)
+                    + ", types " + byType.equals(sqlByType)
+                    + ", statuts " + sameStatuts
+                    + ", tri " + sameOrder);
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
+}
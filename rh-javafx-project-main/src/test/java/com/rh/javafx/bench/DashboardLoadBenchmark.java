@@ -0,0 +1,72 @@
+package com.rh.javafx.bench;
+
+import com.rh.javafx.service.BulletinPaieService;
+import com.rh.javafx.service.CongeService;
+import com.rh.javafx.service.DashboardStatsService;
+import com.rh.javafx.service.EmployeService;
+import com.rh.javafx.util.HibernateUtil;
+import com.rh.javafx.util.ServiceExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Throughput of concurrent dashboard loads on the ServiceExecutor
+ * One load fetches the KPI tiles and the first page of each table, as the dashboard does. Run it once with
+ * SERVICE_EXECUTOR_MODE=platform and once with SERVICE_EXECUTOR_MODE=virtual to compare the fixed pool with
+ * virtual threads. -Dbench.loads sets the number of concurrent loads (60 by default; each load is four calls,
+ * and the executor rejects calls beyond its pool and queue) and -Dbench.rtt adds a sleep in milliseconds before
+ * each call, standing in for the network round trip to a remote database.
+ */
+public class DashboardLoadBenchmark {
+
+    private static final int LOADS = Integer.getInteger("bench.loads", 60);
+    private static final long RTT_MILLIS = Long.getLong("bench.rtt", 0);
+    private static final int ROUNDS = 4;
+    private static final int PAGE_SIZE = 100;
+
+    public static void main(String[] args) {
+        try {
+            List<Integer> employeIds = BenchData.employes(2000);
+            BenchData.conges(employeIds, 2000);
+            BenchData.bulletins(employeIds, List.of("2024-01"));
+
+            DashboardStatsService statsService = new DashboardStatsService();
+            EmployeService employeService = new EmployeService();
+            CongeService congeService = new CongeService();
+            BulletinPaieService bulletinService = new BulletinPaieService();
+
+            // The first round warms up the pools and caches
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                List<CompletableFuture<Void>> loads = new ArrayList<>(LOADS);
+                for (int i = 0; i < LOADS; i++) {
+                    loads.add(CompletableFuture.allOf(
+                            supply(statsService::refresh),
+                            supply(() -> employeService.getEmployesPage(null, PAGE_SIZE)),
+                            supply(() -> congeService.getCongesPage(null, null, PAGE_SIZE)),
+                            supply(() -> bulletinService.getBulletinsPage(null, PAGE_SIZE))));
+                }
+                CompletableFuture.allOf(loads.toArray(CompletableFuture<?>[]::new)).join();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%s rtt=%d ms, tour %d: %d chargements en %.2f s, %.0f chargements/s%n",
+                        ServiceExecutor.getMode(), RTT_MILLIS, round, LOADS, seconds, LOADS / seconds);
+            }
+        } finally {
+            // Both print their metrics on the way out
+            ServiceExecutor.shutdown();
+            HibernateUtil.shutdown();
+        }
+    }
+
+    private static <T> CompletableFuture<T> supply(Callable<T> call) {
+        return ServiceExecutor.supply(() -> {
+            if (RTT_MILLIS > 0) {
+                Thread.sleep(RTT_MILLIS);
+            }
+            return call.call();
+        });
+    }
+}
@@ -0,0 +1,150 @@
+package com.rh.javafx.bench;
+
+import com.rh.javafx.util.HibernateUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Query plans and timings of the frequent leave and payslip queries, with and without the V1 indexes
+ * The indexes are dropped, then created again, only on the H2 test database or when
+ * -Dbench.dropIndexes=true is set; elsewhere only the plans with the indexes are printed.
+ */
+public class QueryPlanBenchmark {
+
+    private static final String V1_SCRIPT = "db/migration/V1__index_requetes_frequentes.sql";
+    private static final Pattern CREATE_INDEX = Pattern.compile("CREATE INDEX (\\w+) ON (\\w+)[^;]*");
+
+    private static final int EMPLOYES = 2000;
+    private static final int CONGES = 100_000;
+    private static final List<String> PERIODES = List.of(
+            "2024-01", "2024-02", "2024-03", "2024-04", "2024-05", "2024-06",
+            "2024-07", "2024-08", "2024-09", "2024-10", "2024-11", "2024-12");
+
+    public static void main(String[] args) throws IOException {
+        try {
+            List<Integer> employeIds = BenchData.employes(EMPLOYES);
+            BenchData.conges(employeIds, CONGES);
+            BenchData.bulletins(employeIds, PERIODES);
+            int employeId = employeIds.get(EMPLOYES / 2);
+
+            List<String> queries = List.of(
+                    "SELECT * FROM conge c WHERE c.statut = 'EN_ATTENTE' ORDER BY c.date_debut DESC, c.id DESC LIMIT 50",
+                    "SELECT * FROM conge c WHERE c.employe_id = " + employeId + " ORDER BY c.date_debut DESC",
+                    "SELECT * FROM bulletin_paie b WHERE b.periode = '2024-06' AND b.employe_id = " + employeId,
+                    "SELECT * FROM bulletin_paie b WHERE b.employe_id = " + employeId + " ORDER BY b.date_emission DESC");
+
+            System.out.println("-- avec les index V1");
+            run(queries);
+
+            List<String> createIndexes = readCreateIndexes();
+            if (!canDropIndexes()) {
+                System.out.println("Index conservés: relancer avec -Dbench.dropIndexes=true pour comparer sans les index");
+                return;
+            }
+            try {
+                for (String createIndex : createIndexes) {
+                    Matcher matcher = CREATE_INDEX.matcher(createIndex);
+                    matcher.matches();
+                    execute("ALTER TABLE " + matcher.group(2) + " DROP INDEX " + matcher.group(1));
+                }
+                System.out.println("-- sans les index V1");
+                run(queries);
+            } finally {
+                for (String createIndex : createIndexes) {
+                    execute(createIndex);
+                }
+            }
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
+
+    private static void run(List<String> queries) {
+        for (String query : queries) {
+            System.out.println(query);
+            System.out.println("  plan: " + explain(query));
+            BenchData.measure("  durée", () -> countRows(query));
+        }
+    }
+
+    /**
+     * The EXPLAIN output on one line; MySQL returns one row per table, H2 a single plan text
+     */
+    private static String explain(String query) {
+        AtomicReference<String> plan = new AtomicReference<>();
+        BenchData.inTransaction(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("EXPLAIN " + query)) {
+                ResultSetMetaData columns = rows.getMetaData();
+                List<String> lines = new ArrayList<>();
+                while (rows.next()) {
+                    List<String> values = new ArrayList<>();
+                    for (int i = 1; i <= columns.getColumnCount(); i++) {
+                        if (rows.getString(i) != null) {
+                            values.add(columns.getColumnCount() == 1
+                                    ? rows.getString(i) : columns.getColumnLabel(i) + "=" + rows.getString(i));
+                        }
+                    }
+                    lines.add(String.join(" ", values).replaceAll("\\s+", " "));
+                }
+                plan.set(String.join(" | ", lines));
+            }
+        });
+        return plan.get();
+    }
+
+    private static int countRows(String query) {
+        AtomicInteger count = new AtomicInteger();
+        BenchData.inTransaction(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery(query)) {
+                while (rows.next()) {
+                    count.incrementAndGet();
+                }
+            }
+        });
+        return count.get();
+    }
+
+    private static void execute(String sql) {
+        BenchData.inTransaction(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+        });
+    }
+
+    private static boolean canDropIndexes() {
+        AtomicReference<String> url = new AtomicReference<>();
+        BenchData.inTransaction(connection -> url.set(connection.getMetaData().getURL()));
+        return url.get().startsWith("jdbc:h2:") || Boolean.getBoolean("bench.dropIndexes");
+    }
+
+    /**
+     * The CREATE INDEX statements of the V1 migration, to drop the indexes and create them again
+     */
+    private static List<String> readCreateIndexes() throws IOException {
+        try (InputStream in = QueryPlanBenchmark.class.getClassLoader().getResourceAsStream(V1_SCRIPT)) {
+            if (in == null) {
+                throw new IOException("Script de migration introuvable: " + V1_SCRIPT);
+            }
+            List<String> statements = new ArrayList<>();
+            Matcher matcher = CREATE_INDEX.matcher(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                statements.add(matcher.group());
+            }
+            return statements;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.model.Conge;
+import com.rh.javafx.model.Conge.StatutConge;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Leave decisions on the same employee from many threads at once
+ * Whatever the interleaving, the days approved and the remaining balance must add up to the initial balance.
+ */
+class CongeConcurrencyTest {
+
+    private static final int SOLDE = 40;
+    private static final int CONGES = 30;
+    private static final int THREADS = 8;
+
+    // Failures a decision may legitimately end with when another thread got there first
+    private static final List<String> EXPECTED_REASONS = List.of(
+            "Solde de congés insuffisant", "Ce congé a déjà été traité", "Congé non trouvé");
+
+    private final CongeService congeService = new CongeService();
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    private final Queue<String> unexpected = new ConcurrentLinkedQueue<>();
+
+    @AfterEach
+    void stopThreads() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallelApprovalsNeverOverdrawTheBalance() throws Exception {
+        TestData.EmployeConges created = TestData.employeWithConges(SOLDE, CONGES);
+        List<Integer> congeIds = created.congeIds();
+
+        // Every leave approved twice, racing two bulk approvals of all of them
+        List<Callable<Void>> calls = new ArrayList<>();
+        for (Integer congeId : congeIds) {
+            calls.add(decision(() -> congeService.approuverConge(congeId)));
+            calls.add(decision(() -> congeService.approuverConge(congeId)));
+        }
+        calls.add(decision(() -> congeService.approuverConges(congeIds)));
+        calls.add(decision(() -> congeService.approuverConges(congeIds)));
+        runAll(calls);
+
+        int approvedDays = 0;
+        int solde = TestData.joursCongesRestants(created.employeId());
+        for (Integer congeId : congeIds) {
+            Conge conge = TestData.conge(congeId);
+            if (conge.getStatut() == StatutConge.APPROUVE) {
+                approvedDays += conge.getDureeJours();
+            } else {
+                // Every leave was tried, so one still pending is one the balance cannot cover
+                assertTrue(conge.getDureeJours() > solde, "Congé " + congeId + " resté en attente");
+            }
+        }
+        assertTrue(unexpected.isEmpty(), () -> "Erreurs inattendues: " + unexpected);
+        assertTrue(solde >= 0, "Solde négatif: " + solde);
+        assertEquals(SOLDE, solde + approvedDays);
+    }
+
+    @Test
+    void parallelDeletionsRestoreTheBalanceOnce() throws Exception {
+        TestData.EmployeConges created = TestData.employeWithConges(SOLDE, 10);
+        List<Integer> congeIds = created.congeIds();
+        for (Integer congeId : congeIds) {
+            congeService.approuverConge(congeId);
+        }
+
+        // Deleting an approved leave gives its days back; a second deletion of it must not give them again
+        List<Callable<Void>> calls = new ArrayList<>();
+        for (Integer congeId : congeIds) {
+            calls.add(decision(() -> {
+                congeService.deleteConge(congeId);
+                return null;
+            }));
+            calls.add(decision(() -> {
+                congeService.deleteConge(congeId);
+                return null;
+            }));
+        }
+        runAll(calls);
+
+        assertTrue(unexpected.isEmpty(), () -> "Erreurs inattendues: " + unexpected);
+        for (Integer congeId : congeIds) {
+            assertNull(TestData.conge(congeId));
+        }
+        assertEquals(SOLDE, TestData.joursCongesRestants(created.employeId()));
+    }
+
+    private Callable<Void> decision(Callable<?> call) {
+        return () -> {
+            try {
+                call.call();
+            } catch (RuntimeException e) {
+                String reason = ServiceException.from(e).getReason();
+                if (EXPECTED_REASONS.stream().noneMatch(reason::startsWith)) {
+                    unexpected.add(reason);
+                }
+            }
+            return null;
+        };
+    }
+
+    private void runAll(List<Callable<Void>> calls) throws Exception {
+        Collections.shuffle(calls, new Random(42));
+        for (Future<Void> future : executor.invokeAll(calls)) {
+            future.get();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.model.BulletinPaie;
+import com.rh.javafx.model.Conge;
+import com.rh.javafx.model.Employe;
+import com.rh.javafx.util.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Number of SQL statements each service call may run, counted with the Hibernate statistics
+ * Caches are emptied before each call, so the budgets hold on a cold cache. A failure here usually
+ * means a lazy association or an N+1 query came back.
+ */
+class StatementBudgetTest {
+
+    private final CongeService congeService = new CongeService();
+    private final EmployeService employeService = new EmployeService();
+    private final BulletinPaieService bulletinService = new BulletinPaieService();
+
+    private Integer employeId;
+    private List<Integer> congeIds;
+
+    @BeforeEach
+    void createEmploye() {
+        TestData.EmployeConges created = TestData.employeWithConges(30, 5);
+        employeId = created.employeId();
+        congeIds = created.congeIds();
+    }
+
+    @Test
+    void employeeHistoryLoadsInOneStatement() {
+        List<Conge> conges = withinBudget(1, () -> congeService.getCongesByEmploye(employeId));
+        // The employee is fetched with the leaves, reading it needs no session
+        conges.forEach(conge -> conge.getEmploye().getJoursCongesRestants());
+
+        for (String periode : List.of("2024-01", "2024-02", "2024-03")) {
+            bulletinService.genererBulletin(employeId, periode, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        List<BulletinPaie> bulletins = withinBudget(1, () -> bulletinService.getBulletinsByEmploye(employeId));
+        bulletins.forEach(BulletinPaie::genererRecu);
+        withinBudget(1, () -> bulletinService.afficherRecu(bulletins.get(0).getId()));
+    }
+
+    @Test
+    void dashboardLoadsOneStatementPerTileAndTable() {
+        withinBudget(1, () -> new DashboardStatsService().refresh());
+        withinBudget(1, () -> employeService.getEmployesPage(null, 50));
+        withinBudget(1, () -> congeService.getCongesPage(null, null, 50));
+        withinBudget(1, () -> congeService.getCongesPage(Conge.StatutConge.EN_ATTENTE, null, 50));
+        withinBudget(1, () -> bulletinService.getBulletinsPage(null, 50));
+        withinBudget(1, bulletinService::getPeriodSummaries);
+    }
+
+    @Test
+    void leaveDecisionsStayWithinBudget() {
+        withinBudget(4, () -> congeService.approuverConge(congeIds.get(0)));
+        withinBudget(2, () -> congeService.rejeterConge(congeIds.get(1), "Période chargée"));
+        withinBudget(4, () -> {
+            congeService.deleteConge(congeIds.get(0));
+            return null;
+        });
+        withinBudget(4, () -> congeService.approuverConges(List.of(congeIds.get(3), congeIds.get(4))));
+    }
+
+    @Test
+    void leaveUpdateStaysWithinBudget() {
+        Conge conge = congeService.getCongeById(congeIds.get(2));
+        conge.setMotif("Déménagement");
+        withinBudget(4, () -> congeService.updateConge(conge));
+    }
+
+    @Test
+    void budgetCountsEveryStatement() {
+        // Guards the harness itself: a cold read of one employee is one statement
+        SessionFactory sessionFactory = HibernateUtil.getSessionFactory();
+        sessionFactory.getCache().evictAllRegions();
+        sessionFactory.getStatistics().clear();
+        try (Session session = sessionFactory.openSession()) {
+            session.get(Employe.class, employeId);
+        }
+        assertEquals(1, sessionFactory.getStatistics().getPrepareStatementCount());
+    }
+
+    private static <T> T withinBudget(int budget, Supplier<T> call) {
+        SessionFactory sessionFactory = HibernateUtil.getSessionFactory();
+        Statistics statistics = sessionFactory.getStatistics();
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+        T result = call.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= budget, statements + " requêtes SQL pour un budget de " + budget);
+        return result;
+    }
+}
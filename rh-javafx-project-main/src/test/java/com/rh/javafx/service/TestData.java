@@ -0,0 +1,77 @@
+package com.rh.javafx.service;
+
+import com.rh.javafx.model.Conge;
+import com.rh.javafx.model.Employe;
+import com.rh.javafx.util.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rows created directly through Hibernate for the service tests
+ * The test database is shared by every test of a run, so each employee gets its own matricule and email.
+ */
+final class TestData {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    /**
+     * An employee and its leave ids, in date order
+     */
+    record EmployeConges(Integer employeId, List<Integer> congeIds) {
+    }
+
+    private TestData() {
+    }
+
+    /**
+     * Create an employee with the given leave balance, and one pending leave per week from the first Monday
+     * of 2024; each leave runs from Monday to Tuesday
+     */
+    static EmployeConges employeWithConges(int joursCongesRestants, int conges) {
+        String suffix = "test" + SEQUENCE.incrementAndGet();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            Employe employe = new Employe("M-" + suffix, "Nom", "Prenom", suffix + "@rh.test", new BigDecimal("1000"));
+            employe.setJoursCongesRestants(joursCongesRestants);
+            session.save(employe);
+
+            List<Conge> created = new ArrayList<>();
+            LocalDate monday = LocalDate.of(2024, 1, 1);
+            for (int i = 0; i < conges; i++) {
+                Conge conge = new Conge(monday.plusWeeks(i), monday.plusWeeks(i).plusDays(1), "Congé annuel", employe);
+                session.save(conge);
+                created.add(conge);
+            }
+            transaction.commit();
+            return new EmployeConges(employe.getId(), created.stream().map(Conge::getId).toList());
+        }
+    }
+
+    /**
+     * Read the leave balance of an employee straight from the database
+     */
+    static int joursCongesRestants(Integer employeId) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT e.joursCongesRestants FROM Employe e WHERE e.id = :id", Integer.class)
+                    .setParameter("id", employeId)
+                    .uniqueResult();
+        }
+    }
+
+    /**
+     * Read a leave and its employee straight from the database
+     */
+    static Conge conge(Integer congeId) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("FROM Conge c JOIN FETCH c.employe WHERE c.id = :id", Conge.class)
+                    .setParameter("id", congeId)
+                    .uniqueResult();
+        }
+    }
+}